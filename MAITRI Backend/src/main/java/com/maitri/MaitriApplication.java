@@ -21,6 +21,6 @@ public class MaitriApplication {
         System.out.println("   - POST http://localhost:8080/api/auth/register");
         System.out.println("   - POST http://localhost:8080/api/auth/login");
         System.out.println("   - GET  http://localhost:8080/api/auth/health");
-        System.out.println("⏰ Automatic booking completion scheduled to run hourly");
+        System.out.println("⏰ Bookings auto-complete when their appointment ends (hourly fallback sweep)");
     }
 }
@@ -56,7 +56,17 @@ public class SecurityConfig {
                     "/api/bookings/my-bookings", // User bookings (temporarily public for testing)
                     "/api/bookings/upcoming",    // Upcoming bookings (temporarily public for testing)
                     "/api/bookings/history",     // Booking history (temporarily public for testing)
-                    "/api/bookings/debug/all",   // Debug endpoint to see all bookings
+                    "/api/bookings/doctor/*/agenda", // Doctor agenda (temporarily public for testing)
+                    "/api/bookings/calendar",    // Doctor calendar view (public access)
+                    "/api/bookings/holds",       // Slot holds during checkout (temporarily public for testing)
+                    "/api/bookings/holds/*",     // Release slot holds (temporarily public for testing)
+                    "/api/bookings/series",      // Recurring series booking (temporarily public for testing)
+                    "/api/bookings/series/*",    // Recurring series lookup (temporarily public for testing)
+                    "/api/bookings/waitlist/**", // Waitlist and its event stream (temporarily public for testing)
+                    "/api/calendar/**",          // .ics calendar feeds (temporarily public for testing)
+                    "/api/doctors",              // Doctor directory (public access)
+                    "/api/doctors/*",            // Doctor profiles (public access; create/update temporarily public for testing)
+                    "/api/doctors/*/schedule/**", // Doctor schedule templates (temporarily public for testing)
                     "/api/bookings/*/confirm",   // Confirm bookings (temporarily public for testing)
                     "/api/bookings/*/complete",  // Complete bookings (temporarily public for testing)
                     "/api/bookings/*/cancel",    // Cancel bookings (temporarily public for testing)
@@ -1,20 +1,36 @@
 package com.maitri.controller;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maitri.dto.BookingPage;
 import com.maitri.dto.BookingResponse;
+import com.maitri.model.BookingStatusHistory;
+import com.maitri.service.AiService;
+import com.maitri.service.BookingAuditService;
+import com.maitri.service.BookingExportService;
+import com.maitri.service.BookingRevenueService;
 import com.maitri.service.BookingService;
+import com.maitri.service.BookingStatisticsService;
+import com.maitri.service.SpoonacularService;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -24,20 +40,45 @@ public class AdminController {
     @Autowired
     private BookingService bookingService;
     
+    @Autowired
+    private BookingStatisticsService bookingStatisticsService;
+    
+    @Autowired
+    private BookingExportService bookingExportService;
+    
+    @Autowired
+    private BookingRevenueService bookingRevenueService;
+    
+    @Autowired
+    private BookingAuditService bookingAuditService;
+    
+    @Autowired
+    private SpoonacularService spoonacularService;
+    
+    @Autowired
+    private AiService aiService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * Get all pending bookings for admin review
      */
     @GetMapping("/bookings/pending")
-    public ResponseEntity<?> getPendingBookings() {
+    public ResponseEntity<?> getPendingBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
             // This would typically get pending bookings for all doctors
             // For now, we'll use a simple approach
-            List<BookingResponse> pendingBookings = bookingService.getBookingsByStatus("pending");
+            BookingPage page = bookingService.getBookingsByStatus("pending", cursor, limit);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("pendingBookings", pendingBookings);
-            response.put("count", pendingBookings.size());
+            response.put("pendingBookings", page.getBookings());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
+            response.put("count", statusCount("pending"));
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -53,15 +94,20 @@ public class AdminController {
      * Get bookings by status (for admin dashboard)
      */
     @GetMapping("/bookings/status/{status}")
-    public ResponseEntity<?> getBookingsByStatus(@PathVariable String status) {
+    public ResponseEntity<?> getBookingsByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<BookingResponse> bookings = bookingService.getBookingsByStatus(status);
+            BookingPage page = bookingService.getBookingsByStatus(status, cursor, limit);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("bookings", bookings);
+            response.put("bookings", page.getBookings());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
             response.put("status", status);
-            response.put("count", bookings.size());
+            response.put("count", statusCount(status));
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -73,6 +119,92 @@ public class AdminController {
         }
     }
     
+    /**
+     * Get all bookings for a doctor (newest first)
+     */
+    @GetMapping("/bookings/doctor/{doctorId}")
+    public ResponseEntity<?> getBookingsByDoctor(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            BookingPage page = bookingService.getBookingsByDoctorId(doctorId, cursor, limit);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("bookings", page.getBookings());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
+            response.put("doctorId", doctorId);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error fetching doctor bookings: " + e.getMessage());
+            
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Get the status transition history of a booking, oldest first
+     */
+    @GetMapping("/bookings/{bookingId}/history")
+    public ResponseEntity<?> getBookingHistory(@PathVariable Long bookingId) {
+        try {
+            List<BookingStatusHistory> history = bookingAuditService.getHistory(bookingId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("bookingId", bookingId);
+            response.put("history", history);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error fetching booking history: " + e.getMessage());
+            
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Export bookings as NDJSON (default) or CSV, streamed row by row.
+     * Optional filters: from/to appointment dates (inclusive) and status.
+     */
+    @GetMapping("/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String status) {
+        BookingExportService.Format exportFormat;
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            exportFormat = BookingExportService.Format.from(format);
+            fromDate = from != null ? LocalDate.parse(from) : null;
+            toDate = to != null ? LocalDate.parse(to) : null;
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error exporting bookings: " + e.getMessage());
+            
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, errorResponse));
+        }
+        
+        boolean csv = exportFormat == BookingExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + (csv ? "csv" : "ndjson") + "\"")
+                .body(out -> bookingExportService.export(exportFormat, fromDate, toDate, status, out));
+    }
+    
     /**
      * Admin force-confirm booking (bypass doctor validation)
      */
@@ -97,19 +229,12 @@ public class AdminController {
     }
     
     /**
-     * Get booking statistics for admin dashboard
+     * Get booking statistics for admin dashboard (served from the in-memory snapshot)
      */
     @GetMapping("/statistics")
     public ResponseEntity<?> getBookingStatistics() {
         try {
-            Map<String, Integer> stats = new HashMap<>();
-            stats.put("pending", bookingService.getBookingsByStatus("pending").size());
-            stats.put("confirmed", bookingService.getBookingsByStatus("confirmed").size());
-            stats.put("completed", bookingService.getBookingsByStatus("completed").size());
-            stats.put("cancelled", bookingService.getBookingsByStatus("cancelled").size());
-            
-            int total = stats.values().stream().mapToInt(Integer::intValue).sum();
-            stats.put("total", total);
+            Map<String, Long> stats = bookingStatisticsService.getStatusCounts();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -124,4 +249,227 @@ public class AdminController {
             return ResponseEntity.status(500).body(errorResponse);
         }
     }
+    
+    /**
+     * Get booking counts per doctor, broken down by status
+     */
+    @GetMapping("/statistics/doctors")
+    public ResponseEntity<?> getDoctorStatistics() {
+        try {
+            List<Map<String, Object>> doctors = bookingStatisticsService.getDoctorBreakdown();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("doctors", doctors);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error fetching doctor statistics: " + e.getMessage());
+            
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Get booking counts per appointment day, broken down by status (defaults to the last 30 days)
+     */
+    @GetMapping("/statistics/daily")
+    public ResponseEntity<?> getDailyStatistics(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        try {
+            LocalDate endDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            LocalDate startDate = from != null ? LocalDate.parse(from) : endDate.minusDays(29);
+            
+            List<Map<String, Object>> days = bookingStatisticsService.getDailyBreakdown(startDate, endDate);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("from", startDate);
+            response.put("to", endDate);
+            response.put("days", days);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error fetching daily statistics: " + e.getMessage());
+            
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Get time spent in each status before each kind of transition (e.g. pending to confirmed turnaround),
+     * optionally for one doctor (defaults to the last 30 days)
+     */
+    @GetMapping("/statistics/time-in-state")
+    public ResponseEntity<?> getTimeInState(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) Long doctorId) {
+        try {
+            LocalDate endDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            LocalDate startDate = from != null ? LocalDate.parse(from) : endDate.minusDays(29);
+            
+            List<Map<String, Object>> transitions = bookingAuditService.getTimeInState(startDate, endDate, doctorId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("from", startDate);
+            response.put("to", endDate);
+            response.put("doctorId", doctorId);
+            response.put("transitions", transitions);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error fetching time-in-state statistics: " + e.getMessage());
+            
+            boolean badRequest = e instanceof IllegalArgumentException || e instanceof DateTimeParseException;
+            return ResponseEntity.status(badRequest ? 400 : 500).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Get revenue per doctor from confirmed and completed bookings (defaults to the last 30 days)
+     */
+    @GetMapping("/revenue/doctors")
+    public ResponseEntity<?> getRevenueByDoctor(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        try {
+            LocalDate endDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            LocalDate startDate = from != null ? LocalDate.parse(from) : endDate.minusDays(29);
+            
+            List<Map<String, Object>> doctors = bookingRevenueService.getRevenueByDoctor(startDate, endDate);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("from", startDate);
+            response.put("to", endDate);
+            response.put("doctors", doctors);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return revenueError("Error fetching doctor revenue: ", e);
+        }
+    }
+    
+    /**
+     * Get revenue per appointment day (source=live queries bookings, source=rollup reads the daily rollup)
+     */
+    @GetMapping("/revenue/daily")
+    public ResponseEntity<?> getRevenueByDay(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "live") String source) {
+        try {
+            LocalDate endDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            LocalDate startDate = from != null ? LocalDate.parse(from) : endDate.minusDays(29);
+            if (!"live".equals(source) && !"rollup".equals(source)) {
+                throw new IllegalArgumentException("source must be 'live' or 'rollup'");
+            }
+            
+            List<Map<String, Object>> days = bookingRevenueService.getRevenueByDay(startDate, endDate, "rollup".equals(source));
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("from", startDate);
+            response.put("to", endDate);
+            response.put("source", source);
+            response.put("days", days);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return revenueError("Error fetching daily revenue: ", e);
+        }
+    }
+    
+    /**
+     * Get revenue per consultation type (defaults to the last 30 days)
+     */
+    @GetMapping("/revenue/consultation-types")
+    public ResponseEntity<?> getRevenueByConsultationType(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        try {
+            LocalDate endDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            LocalDate startDate = from != null ? LocalDate.parse(from) : endDate.minusDays(29);
+            
+            List<Map<String, Object>> types = bookingRevenueService.getRevenueByConsultationType(startDate, endDate);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("from", startDate);
+            response.put("to", endDate);
+            response.put("consultationTypes", types);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return revenueError("Error fetching consultation type revenue: ", e);
+        }
+    }
+    
+    /**
+     * Recompute the daily revenue rollup for a date range (e.g. after a manual data fix)
+     */
+    @PostMapping("/revenue/rollup/rebuild")
+    public ResponseEntity<?> rebuildRevenueRollup(
+            @RequestParam String from,
+            @RequestParam String to) {
+        try {
+            int rows = bookingRevenueService.rebuild(LocalDate.parse(from), LocalDate.parse(to));
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Revenue rollup rebuilt");
+            response.put("rows", rows);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return revenueError("Error rebuilding revenue rollup: ", e);
+        }
+    }
+    
+    // Bad dates or ranges are the caller's fault; anything else is a server error
+    private ResponseEntity<?> revenueError(String prefix, Exception e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", prefix + e.getMessage());
+        
+        boolean badRequest = e instanceof IllegalArgumentException || e instanceof DateTimeParseException;
+        return ResponseEntity.status(badRequest ? 400 : 500).body(errorResponse);
+    }
+    
+    /**
+     * Outbound API call metrics: calls issued upstream vs. coalesced with an identical in-flight call
+     */
+    @GetMapping("/outbound-calls")
+    public ResponseEntity<?> getOutboundCallStats() {
+        Map<String, Object> spoonacular = new HashMap<>(spoonacularService.getSingleFlightStats());
+        spoonacular.put("mealPlanCache", spoonacularService.getMealPlanCacheStats());
+        spoonacular.put("ingredientCache", spoonacularService.getIngredientCacheStats());
+        spoonacular.put("recipeCache", spoonacularService.getRecipeCacheStats());
+        spoonacular.put("quota", spoonacularService.getQuotaStats());
+        spoonacular.put("circuitBreaker", spoonacularService.getCircuitBreakerStats());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("spoonacular", spoonacular);
+        response.put("gemini", Map.of(
+            "chat", aiService.getSingleFlightStats(),
+            "circuitBreaker", aiService.getCircuitBreakerStats()
+        ));
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    // Total bookings with a status, from the in-memory statistics snapshot
+    private long statusCount(String status) {
+        return bookingStatisticsService.getStatusCounts().getOrDefault(status, 0L);
+    }
 }
\ No newline at end of file
@@ -2,15 +2,19 @@ package com.maitri.controller;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -19,12 +23,21 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.maitri.dto.BookingPage;
 import com.maitri.dto.BookingRequest;
 import com.maitri.dto.BookingResponse;
-import com.maitri.model.Booking;
-import com.maitri.repository.BookingRepository;
+import com.maitri.dto.BookingSeriesRequest;
+import com.maitri.dto.BookingSeriesResponse;
+import com.maitri.dto.SlotHoldRequest;
+import com.maitri.dto.WaitlistRequest;
+import com.maitri.service.BookingCalendarService;
 import com.maitri.service.BookingService;
+import com.maitri.service.SlotHoldService.SlotHold;
+import com.maitri.service.WaitlistNotificationService;
+import com.maitri.service.WaitlistService;
+import com.maitri.service.WaitlistService.WaitlistEntry;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -35,7 +48,13 @@ public class BookingController {
     private BookingService bookingService;
     
     @Autowired
-    private BookingRepository bookingRepository;
+    private BookingCalendarService bookingCalendarService;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private WaitlistNotificationService waitlistNotificationService;
     
     /**
      * Create a new booking
@@ -72,9 +91,6 @@ public class BookingController {
             if (request.getTime() == null) {
                 throw new RuntimeException("Time is required");
             }
-            if (request.getDoctorName() == null || request.getDoctorName().trim().isEmpty()) {
-                throw new RuntimeException("Doctor name is required");
-            }
             if (request.getPatientName() == null || request.getPatientName().trim().isEmpty()) {
                 throw new RuntimeException("Patient name is required");
             }
@@ -109,21 +125,24 @@ public class BookingController {
      * Get all bookings for the current user
      */
     @GetMapping("/my-bookings")
-    public ResponseEntity<?> getMyBookings(@RequestParam(required = false) Long userId) {
+    public ResponseEntity<?> getMyBookings(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
             // If no userId provided in request, use default for testing
             if (userId == null) {
                 userId = 1L; // Default for testing
             }
             
-            List<BookingResponse> bookings = bookingService.getBookingsByPatientId(userId);
+            BookingPage page = bookingService.getBookingsByPatientId(userId, cursor, limit);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("bookings", bookings);
+            Map<String, Object> response = pageResponse(page);
             response.put("userId", userId); // Add for debugging
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -137,21 +156,24 @@ public class BookingController {
      * Get upcoming bookings for the current user
      */
     @GetMapping("/upcoming")
-    public ResponseEntity<?> getUpcomingBookings(@RequestParam(required = false) Long userId) {
+    public ResponseEntity<?> getUpcomingBookings(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
             // If no userId provided in request, use default for testing
             if (userId == null) {
                 userId = 1L; // Default for testing
             }
             
-            List<BookingResponse> bookings = bookingService.getUpcomingBookingsByPatientId(userId);
+            BookingPage page = bookingService.getUpcomingBookingsByPatientId(userId, cursor, limit);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("bookings", bookings);
+            Map<String, Object> response = pageResponse(page);
             response.put("userId", userId); // Add for debugging
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -165,22 +187,53 @@ public class BookingController {
      * Get past bookings for the current user
      */
     @GetMapping("/history")
-    public ResponseEntity<?> getBookingHistory() {
+    public ResponseEntity<?> getBookingHistory(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
             // TODO: Get user ID from authentication
-            Long userId = 1L; // Placeholder
+            if (userId == null) {
+                userId = 1L; // Placeholder
+            }
             
-            List<BookingResponse> bookings = bookingService.getPastBookingsByPatientId(userId);
+            BookingPage page = bookingService.getPastBookingsByPatientId(userId, cursor, limit);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("bookings", bookings);
+            return ResponseEntity.ok(pageResponse(page));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "An error occurred while fetching booking history");
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Get a doctor's agenda: upcoming non-cancelled bookings from a given day (defaults to today)
+     */
+    @GetMapping("/doctor/{doctorId}/agenda")
+    public ResponseEntity<?> getDoctorAgenda(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            LocalDate fromDate = from != null ? LocalDate.parse(from) : LocalDate.now();
+            BookingPage page = bookingService.getDoctorAgenda(doctorId, fromDate, cursor, limit);
+            
+            Map<String, Object> response = pageResponse(page);
+            response.put("doctorId", doctorId);
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
-            errorResponse.put("message", "An error occurred while fetching booking history");
+            errorResponse.put("message", "An error occurred while fetching the doctor's agenda");
             
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
@@ -225,16 +278,19 @@ public class BookingController {
     @GetMapping("/available-slots")
     public ResponseEntity<?> getAvailableTimeSlots(
             @RequestParam Long doctorId,
-            @RequestParam String date) {
+            @RequestParam String date,
+            @RequestParam(required = false) Long patientId) {
         try {
             LocalDate localDate = LocalDate.parse(date);
-            List<LocalTime> availableSlots = bookingService.getAvailableTimeSlots(doctorId, localDate);
+            List<LocalTime> availableSlots = bookingService.getAvailableTimeSlots(doctorId, localDate, patientId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("availableSlots", availableSlots);
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -244,6 +300,233 @@ public class BookingController {
         }
     }
     
+    /**
+     * Month/range view of a doctor's calendar: booked and free slot counts per day,
+     * optionally with per-slot occupancy
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<?> getCalendar(
+            @RequestParam Long doctorId,
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "false") boolean includeSlots) {
+        try {
+            List<Map<String, Object>> days = bookingCalendarService.getCalendar(
+                doctorId, LocalDate.parse(from), LocalDate.parse(to), includeSlots
+            );
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("doctorId", doctorId);
+            response.put("days", days);
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return badRequest(e.getMessage());
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "An error occurred while fetching the calendar");
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Hold a time slot for a few minutes while the patient fills in the booking form
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<?> holdSlot(@RequestBody SlotHoldRequest request) {
+        if (request.getDoctorId() == null || request.getPatientId() == null
+                || request.getDate() == null || request.getTime() == null) {
+            return badRequest("Doctor ID, patient ID, date and time are required");
+        }
+        
+        try {
+            SlotHold hold = bookingService.holdSlot(
+                request.getDoctorId(), request.getDate(), request.getTime(), request.getPatientId()
+            );
+            
+            Map<String, Object> holdDetails = new HashMap<>();
+            holdDetails.put("holdId", hold.holdId());
+            holdDetails.put("doctorId", hold.slot().doctorId());
+            holdDetails.put("date", hold.slot().date());
+            holdDetails.put("time", hold.slot().time());
+            holdDetails.put("patientId", hold.patientId());
+            holdDetails.put("expiresAt", hold.expiresAt());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("hold", holdDetails);
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        } catch (RuntimeException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Release a slot hold (e.g. when the patient closes the booking form)
+     */
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<?> releaseHold(@PathVariable String holdId, @RequestParam Long patientId) {
+        boolean released = bookingService.releaseHold(holdId, patientId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", released);
+        response.put("message", released ? "Hold released" : "Hold not found or already expired");
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Book a recurring series with one doctor (e.g. weekly follow-ups).
+     * Conflicting occurrences are reported individually; with skipConflicts the free ones are still booked.
+     */
+    @PostMapping("/series")
+    public ResponseEntity<?> createSeries(@RequestBody BookingSeriesRequest request) {
+        if (request.getDoctorId() == null || request.getPatientId() == null
+                || request.getStartDate() == null || request.getTime() == null || request.getOccurrences() == null) {
+            return badRequest("Doctor ID, patient ID, start date, time and occurrences are required");
+        }
+        if (request.getPatientName() == null || request.getPatientName().trim().isEmpty()
+                || request.getPatientEmail() == null || request.getPatientEmail().trim().isEmpty()) {
+            return badRequest("Patient name and email are required");
+        }
+        if (request.getConsultationType() == null) {
+            return badRequest("Consultation type is required");
+        }
+        
+        try {
+            BookingSeriesResponse series = bookingService.createSeries(request);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("seriesId", series.getSeriesId());
+            response.put("bookings", series.getBookings());
+            response.put("conflicts", series.getConflicts());
+            
+            if (series.getSeriesId() == null) {
+                response.put("success", false);
+                response.put("message", "No appointments were booked: " + series.getConflicts().size() + " occurrence(s) conflict");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+            
+            response.put("success", true);
+            response.put("message", series.getBookings().size() + " appointment(s) booked");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "An error occurred while booking the series");
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Get all occurrences of a recurring series
+     */
+    @GetMapping("/series/{seriesId}")
+    public ResponseEntity<?> getSeries(@PathVariable String seriesId) {
+        List<BookingResponse> bookings = bookingService.getSeries(seriesId);
+        if (bookings.isEmpty()) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Series not found: " + seriesId);
+            
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("seriesId", seriesId);
+        response.put("bookings", bookings);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Join a doctor's waitlist for a date; the patient is offered the first matching slot that is cancelled
+     */
+    @PostMapping("/waitlist")
+    public ResponseEntity<?> joinWaitlist(@RequestBody WaitlistRequest request) {
+        if (request.getDoctorId() == null || request.getPatientId() == null || request.getDate() == null) {
+            return badRequest("Doctor ID, patient ID and date are required");
+        }
+        
+        try {
+            WaitlistEntry entry = bookingService.joinWaitlist(
+                request.getDoctorId(), request.getDate(), request.getTime(), request.getPatientId()
+            );
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("entry", entry);
+            response.put("position", waitlistService.positionOf(entry));
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "An error occurred while joining the waitlist");
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Get the waitlists a patient is on, with their position in each
+     */
+    @GetMapping("/waitlist")
+    public ResponseEntity<?> getWaitlistEntries(@RequestParam Long patientId) {
+        List<Map<String, Object>> entries = waitlistService.getEntriesForPatient(patientId).stream()
+                .map(entry -> {
+                    Map<String, Object> item = new HashMap<>();
+                    item.put("entry", entry);
+                    item.put("position", waitlistService.positionOf(entry));
+                    return item;
+                })
+                .collect(Collectors.toList());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("entries", entries);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Leave a waitlist
+     */
+    @DeleteMapping("/waitlist/{entryId}")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable String entryId, @RequestParam Long patientId) {
+        boolean removed = bookingService.leaveWaitlist(entryId, patientId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", removed);
+        response.put("message", removed ? "Removed from waitlist" : "Waitlist entry not found");
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Server-Sent Events stream of waitlist promotions for a patient ("waitlist-promoted" events)
+     */
+    @GetMapping(value = "/waitlist/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWaitlistEvents(@RequestParam Long patientId) {
+        return waitlistNotificationService.subscribe(patientId);
+    }
+    
     /**
      * Update booking status (for admin/doctor use)
      */
@@ -357,26 +640,20 @@ public class BookingController {
         }
     }
 
-    /**
-     * Debug endpoint to get ALL bookings in the system
-     */
-    @GetMapping("/debug/all")
-    public ResponseEntity<?> getAllBookingsDebug() {
-        try {
-            List<Booking> allBookings = bookingRepository.findAll();
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("totalBookings", allBookings.size());
-            response.put("bookings", allBookings);
-            
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "Debug endpoint failed: " + e.getMessage());
-            
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+    private Map<String, Object> pageResponse(BookingPage page) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("bookings", page.getBookings());
+        response.put("nextCursor", page.getNextCursor());
+        response.put("hasMore", page.isHasMore());
+        return response;
+    }
+    
+    private ResponseEntity<Map<String, Object>> badRequest(String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", message);
+        
+        return ResponseEntity.badRequest().body(errorResponse);
     }
 }
\ No newline at end of file
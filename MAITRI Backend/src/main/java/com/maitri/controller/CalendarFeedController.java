@@ -0,0 +1,69 @@
+package com.maitri.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.maitri.service.BookingIcsFeedService;
+import com.maitri.service.BookingIcsFeedService.FeedVersion;
+import com.maitri.service.BookingIcsFeedService.Owner;
+
+/**
+ * iCalendar feeds that calendar apps can subscribe to
+ */
+@RestController
+@RequestMapping("/api/calendar")
+@CrossOrigin(origins = "*")
+public class CalendarFeedController {
+    
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+    
+    @Autowired
+    private BookingIcsFeedService bookingIcsFeedService;
+    
+    /**
+     * A patient's appointments as an .ics feed
+     */
+    @GetMapping("/patients/{patientId}/bookings.ics")
+    public ResponseEntity<StreamingResponseBody> getPatientFeed(@PathVariable Long patientId, WebRequest request) {
+        return feed(Owner.PATIENT, patientId, request);
+    }
+    
+    /**
+     * A doctor's consultations as an .ics feed
+     */
+    @GetMapping("/doctors/{doctorId}/bookings.ics")
+    public ResponseEntity<StreamingResponseBody> getDoctorFeed(@PathVariable Long doctorId, WebRequest request) {
+        return feed(Owner.DOCTOR, doctorId, request);
+    }
+    
+    // Answer 304 from the feed version alone when the client is up to date; otherwise stream the feed
+    private ResponseEntity<StreamingResponseBody> feed(Owner owner, Long ownerId, WebRequest request) {
+        FeedVersion version = bookingIcsFeedService.getVersion(owner, ownerId);
+        String etag = version.etag(owner, ownerId);
+        boolean notModified = version.lastModified() != null
+                ? request.checkNotModified(etag, version.lastModified().toEpochMilli())
+                : request.checkNotModified(etag);
+        if (notModified) {
+            return null;
+        }
+        
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .cacheControl(CacheControl.maxAge(0, TimeUnit.SECONDS).cachePrivate().mustRevalidate())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"bookings.ics\"")
+                .body(out -> bookingIcsFeedService.write(owner, ownerId, version, out));
+    }
+}
@@ -8,7 +8,9 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,13 +18,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.maitri.dto.DietPlanRequest;
 import com.maitri.dto.DietPlanResponse;
+import com.maitri.dto.MealPlanResponse;
 import com.maitri.service.DietPlanService;
 import com.maitri.service.SpoonacularService;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -32,6 +37,9 @@ public class DietPlanController {
 
     private static final Logger logger = LoggerFactory.getLogger(DietPlanController.class);
     
+    // A week of plans has at most 35 recipes
+    private static final int MAX_RECIPE_IDS = 50;
+    
     private final SpoonacularService spoonacularService;
     
     @Autowired
@@ -146,7 +154,7 @@ public class DietPlanController {
     }
 
     @PostMapping("/generate-plan")
-    public Mono<ResponseEntity<Map<String, Object>>> generateDietPlan(@RequestBody Map<String, Object> userRequirements) {
+    public Mono<ResponseEntity<?>> generateDietPlan(@RequestBody Map<String, Object> userRequirements) {
         logger.info("Generating diet plan for user requirements: {}", userRequirements);
         
         // Validate required fields
@@ -156,23 +164,65 @@ public class DietPlanController {
         }
         
         return spoonacularService.generateMealPlan(userRequirements)
-                .map(result -> {
-                    if (result.isEmpty()) {
-                        return ResponseEntity.internalServerError()
-                            .<Map<String, Object>>body(Map.of("error", "Failed to generate meal plan"));
-                    }
-                    
-                    // Add success response structure
-                    result.put("success", true);
-                    result.put("message", "Diet plan generated successfully");
-                    
-                    return ResponseEntity.ok(result);
-                })
+                .<ResponseEntity<?>>map(plan -> ResponseEntity.ok(
+                    new MealPlanResponse(true, "Diet plan generated successfully", plan)))
                 .doOnError(error -> logger.error("Error in generateDietPlan: {}", error.getMessage()))
                 .onErrorReturn(ResponseEntity.internalServerError()
                     .body(Map.of("error", "Internal server error while generating diet plan")));
     }
 
+    /**
+     * Stream a 7-day meal plan as server-sent "day" events, in the order the days complete.
+     * regenerateDay (1-7) replaces that day's cached plan and reuses the other six.
+     */
+    @PostMapping("/generate-weekly-plan")
+    public ResponseEntity<Flux<ServerSentEvent<?>>> generateWeeklyPlan(@RequestBody Map<String, Object> userRequirements,
+                                                                       @RequestParam(required = false) Integer regenerateDay) {
+        logger.info("Generating weekly diet plan for user requirements: {}", userRequirements);
+        
+        if (!isValidRequest(userRequirements)) {
+            return weeklyPlanError("Missing required fields: age, weight, height, activityLevel");
+        }
+        if (regenerateDay != null && (regenerateDay < 1 || regenerateDay > 7)) {
+            return weeklyPlanError("regenerateDay must be between 1 and 7");
+        }
+        
+        Flux<ServerSentEvent<?>> days = spoonacularService.generateWeeklyPlan(userRequirements, regenerateDay)
+                .<ServerSentEvent<?>>map(day -> ServerSentEvent.builder(day).id(String.valueOf(day.day())).event("day").build())
+                .doOnError(error -> logger.error("Error in generateWeeklyPlan: {}", error.getMessage()))
+                .onErrorResume(error -> Flux.just(ServerSentEvent.builder(
+                    Map.of("error", "Internal server error while generating weekly plan")).event("error").build()));
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(days);
+    }
+
+    private ResponseEntity<Flux<ServerSentEvent<?>>> weeklyPlanError(String message) {
+        return ResponseEntity.badRequest()
+            .contentType(MediaType.TEXT_EVENT_STREAM)
+            .body(Flux.just(ServerSentEvent.builder(Map.of("error", message)).event("error").build()));
+    }
+
+    /**
+     * Ingredients and nutrition for the recipes of a generated plan, in one request
+     */
+    @GetMapping("/recipes")
+    public Mono<ResponseEntity<Map<String, Object>>> getRecipeDetails(@RequestParam List<Integer> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_RECIPE_IDS) {
+            return Mono.just(ResponseEntity.badRequest()
+                .body(Map.of("error", "Between 1 and " + MAX_RECIPE_IDS + " recipe ids are required")));
+        }
+        
+        return spoonacularService.getRecipeDetails(ids)
+                .map(recipes -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("recipes", recipes);
+                    return ResponseEntity.ok(response);
+                })
+                .doOnError(error -> logger.error("Error in getRecipeDetails: {}", error.getMessage()))
+                .onErrorReturn(ResponseEntity.internalServerError()
+                    .body(Map.of("error", "Internal server error while getting recipe details")));
+    }
+
     @PostMapping("/nutrition-info")
     public Mono<ResponseEntity<Map<String, Object>>> getNutritionInfo(@RequestBody Map<String, Object> request) {
         logger.info("Getting nutrition info for foods: {}", request.get("foods"));
@@ -219,6 +269,19 @@ public class DietPlanController {
         }
     }
 
+    /**
+     * Meal plan, ingredient and recipe cache statistics (size, hits, misses, evictions)
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("mealPlanCache", spoonacularService.getMealPlanCacheStats());
+        response.put("ingredientCache", spoonacularService.getIngredientCacheStats());
+        response.put("recipeCache", spoonacularService.getRecipeCacheStats());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
         return ResponseEntity.ok(Map.of(
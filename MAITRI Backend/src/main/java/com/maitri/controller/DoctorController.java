@@ -0,0 +1,120 @@
+package com.maitri.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.maitri.dto.DoctorRequest;
+import com.maitri.dto.DoctorResponse;
+import com.maitri.service.DoctorDirectoryService;
+
+@RestController
+@RequestMapping("/api/doctors")
+@CrossOrigin(origins = "*")
+public class DoctorController {
+    
+    @Autowired
+    private DoctorDirectoryService doctorDirectoryService;
+    
+    /**
+     * Search active doctors (all filters optional)
+     */
+    @GetMapping
+    public ResponseEntity<?> searchDoctors(
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) String consultationType) {
+        List<DoctorResponse> doctors = doctorDirectoryService.search(specialization, location, language, consultationType);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("doctors", doctors);
+        response.put("specializations", doctorDirectoryService.getSpecializations());
+        response.put("locations", doctorDirectoryService.getLocations());
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Get a doctor's profile
+     */
+    @GetMapping("/{doctorId}")
+    public ResponseEntity<?> getDoctor(@PathVariable Long doctorId) {
+        Optional<DoctorResponse> doctor = doctorDirectoryService.findById(doctorId);
+        
+        Map<String, Object> response = new HashMap<>();
+        if (doctor.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "Doctor not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        
+        response.put("success", true);
+        response.put("doctor", doctor.get());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Add a doctor to the directory
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createDoctor(@RequestBody DoctorRequest request) {
+        try {
+            DoctorResponse doctor = doctorDirectoryService.createDoctor(request);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Doctor created successfully");
+            response.put("doctor", doctor);
+            
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+    
+    /**
+     * Update a doctor's profile (only the fields provided are changed)
+     */
+    @PutMapping("/{doctorId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> updateDoctor(@PathVariable Long doctorId, @RequestBody DoctorRequest request) {
+        try {
+            DoctorResponse doctor = doctorDirectoryService.updateDoctor(doctorId, request);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Doctor updated successfully");
+            response.put("doctor", doctor);
+            
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.maitri.controller;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.maitri.dto.ScheduleDayRequest;
+import com.maitri.dto.ScheduleExceptionRequest;
+import com.maitri.model.DoctorScheduleDay;
+import com.maitri.model.DoctorScheduleException;
+import com.maitri.service.DoctorScheduleService;
+
+@RestController
+@RequestMapping("/api/doctors/{doctorId}/schedule")
+@CrossOrigin(origins = "*")
+public class ScheduleController {
+    
+    @Autowired
+    private DoctorScheduleService doctorScheduleService;
+    
+    /**
+     * Get a doctor's weekly schedule template and upcoming exceptions
+     */
+    @GetMapping
+    public ResponseEntity<?> getSchedule(@PathVariable Long doctorId) {
+        try {
+            List<DoctorScheduleDay> days = doctorScheduleService.getWeeklyTemplate(doctorId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("usingDefault", days.isEmpty());
+            response.put("days", days);
+            response.put("exceptions", doctorScheduleService.getExceptions(doctorId, LocalDate.now()));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return serverError("An error occurred while fetching the schedule");
+        }
+    }
+    
+    /**
+     * Replace a doctor's weekly schedule template (an empty list restores the default hours)
+     */
+    @PutMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
+    public ResponseEntity<?> replaceWeeklyTemplate(
+            @PathVariable Long doctorId,
+            @RequestBody List<ScheduleDayRequest> days) {
+        try {
+            List<DoctorScheduleDay> saved = doctorScheduleService.replaceWeeklyTemplate(doctorId, days);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Schedule updated successfully");
+            response.put("days", saved);
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        } catch (Exception e) {
+            return serverError("An error occurred while updating the schedule");
+        }
+    }
+    
+    /**
+     * Get the bookable slots of a doctor's schedule on a date (ignores existing bookings)
+     */
+    @GetMapping("/slots")
+    public ResponseEntity<?> getScheduledSlots(@PathVariable Long doctorId, @RequestParam String date) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("slots", doctorScheduleService.getSlots(doctorId, LocalDate.parse(date)));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return serverError("An error occurred while fetching scheduled slots");
+        }
+    }
+    
+    /**
+     * Add a day off or custom hours for a date
+     */
+    @PostMapping("/exceptions")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
+    public ResponseEntity<?> addException(
+            @PathVariable Long doctorId,
+            @RequestBody ScheduleExceptionRequest request) {
+        try {
+            DoctorScheduleException exception = doctorScheduleService.addException(doctorId, request);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Schedule exception added successfully");
+            response.put("exception", exception);
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        } catch (Exception e) {
+            return serverError("An error occurred while adding the schedule exception");
+        }
+    }
+    
+    /**
+     * Remove a schedule exception
+     */
+    @DeleteMapping("/exceptions/{exceptionId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
+    public ResponseEntity<?> removeException(@PathVariable Long doctorId, @PathVariable Long exceptionId) {
+        try {
+            doctorScheduleService.removeException(doctorId, exceptionId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Schedule exception removed successfully");
+            
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+    
+    private ResponseEntity<Map<String, Object>> badRequest(String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", message);
+        
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+    
+    private ResponseEntity<Map<String, Object>> serverError(String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", message);
+        
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+}
@@ -0,0 +1,47 @@
+package com.maitri.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated booking list.
+ * Pass nextCursor back as "cursor" to fetch the following page; it is null on the last page.
+ */
+public class BookingPage {
+    private List<BookingResponse> bookings;
+    private String nextCursor;
+    private boolean hasMore;
+    
+    // Constructors
+    public BookingPage() {}
+    
+    public BookingPage(List<BookingResponse> bookings, String nextCursor, boolean hasMore) {
+        this.bookings = bookings;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+    
+    // Getters and Setters
+    public List<BookingResponse> getBookings() {
+        return bookings;
+    }
+    
+    public void setBookings(List<BookingResponse> bookings) {
+        this.bookings = bookings;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
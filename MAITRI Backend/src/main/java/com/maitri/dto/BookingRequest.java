@@ -14,7 +14,7 @@ public class BookingRequest {
     private String consultationType;
     private String symptoms;
     private String notes;
-    private String price;
+    private String price; // ignored: the fee is taken from the doctor directory
     
     // Constructors
     public BookingRequest() {}
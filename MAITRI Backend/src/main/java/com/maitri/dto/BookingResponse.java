@@ -1,5 +1,6 @@
 package com.maitri.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -17,9 +18,12 @@ public class BookingResponse {
     private String symptoms;
     private String notes;
     private String status;
-    private String price;
+    private String price; // display string, e.g. "₹800"
+    private BigDecimal priceAmount;
+    private String currency;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private String seriesId; // set for occurrences of a recurring series
     
     // Constructors
     public BookingResponse() {}
@@ -27,6 +31,7 @@ public class BookingResponse {
     public BookingResponse(Long id, Long doctorId, String doctorName, Long patientId, String patientName,
                           String patientEmail, LocalDate date, LocalTime time, String consultationType,
                           String symptoms, String notes, String status, String price,
+                          BigDecimal priceAmount, String currency,
                           LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.doctorId = doctorId;
@@ -41,6 +46,8 @@ public class BookingResponse {
         this.notes = notes;
         this.status = status;
         this.price = price;
+        this.priceAmount = priceAmount;
+        this.currency = currency;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
@@ -150,6 +157,22 @@ public class BookingResponse {
         this.price = price;
     }
     
+    public BigDecimal getPriceAmount() {
+        return priceAmount;
+    }
+    
+    public void setPriceAmount(BigDecimal priceAmount) {
+        this.priceAmount = priceAmount;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -165,4 +188,12 @@ public class BookingResponse {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public String getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(String seriesId) {
+        this.seriesId = seriesId;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.maitri.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A weekly (or every N weeks) run of appointments with the same doctor at the same time
+ */
+public class BookingSeriesRequest {
+    private Long doctorId;
+    private Long patientId;
+    private String patientName;
+    private String patientEmail;
+    private LocalDate startDate;
+    private LocalTime time;
+    private Integer occurrences;
+    private Integer intervalWeeks; // defaults to 1
+    private String consultationType;
+    private String symptoms;
+    private String notes;
+    private boolean skipConflicts; // book the free occurrences instead of rejecting the whole series
+    
+    // Constructors
+    public BookingSeriesRequest() {}
+    
+    // Getters and Setters
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public String getPatientName() {
+        return patientName;
+    }
+    
+    public void setPatientName(String patientName) {
+        this.patientName = patientName;
+    }
+    
+    public String getPatientEmail() {
+        return patientEmail;
+    }
+    
+    public void setPatientEmail(String patientEmail) {
+        this.patientEmail = patientEmail;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalTime getTime() {
+        return time;
+    }
+    
+    public void setTime(LocalTime time) {
+        this.time = time;
+    }
+    
+    public Integer getOccurrences() {
+        return occurrences;
+    }
+    
+    public void setOccurrences(Integer occurrences) {
+        this.occurrences = occurrences;
+    }
+    
+    public Integer getIntervalWeeks() {
+        return intervalWeeks;
+    }
+    
+    public void setIntervalWeeks(Integer intervalWeeks) {
+        this.intervalWeeks = intervalWeeks;
+    }
+    
+    public String getConsultationType() {
+        return consultationType;
+    }
+    
+    public void setConsultationType(String consultationType) {
+        this.consultationType = consultationType;
+    }
+    
+    public String getSymptoms() {
+        return symptoms;
+    }
+    
+    public void setSymptoms(String symptoms) {
+        this.symptoms = symptoms;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    public boolean isSkipConflicts() {
+        return skipConflicts;
+    }
+    
+    public void setSkipConflicts(boolean skipConflicts) {
+        this.skipConflicts = skipConflicts;
+    }
+}
@@ -0,0 +1,75 @@
+package com.maitri.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Outcome of a series booking: the bookings created and the occurrences that could not be booked
+ */
+public class BookingSeriesResponse {
+    private String seriesId; // null when nothing was booked
+    private List<BookingResponse> bookings;
+    private List<Conflict> conflicts;
+    
+    // Constructors
+    public BookingSeriesResponse() {}
+    
+    public BookingSeriesResponse(String seriesId, List<BookingResponse> bookings, List<Conflict> conflicts) {
+        this.seriesId = seriesId;
+        this.bookings = bookings;
+        this.conflicts = conflicts;
+    }
+    
+    // Getters and Setters
+    public String getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(String seriesId) {
+        this.seriesId = seriesId;
+    }
+    
+    public List<BookingResponse> getBookings() {
+        return bookings;
+    }
+    
+    public void setBookings(List<BookingResponse> bookings) {
+        this.bookings = bookings;
+    }
+    
+    public List<Conflict> getConflicts() {
+        return conflicts;
+    }
+    
+    public void setConflicts(List<Conflict> conflicts) {
+        this.conflicts = conflicts;
+    }
+    
+    /**
+     * An occurrence that could not be booked, and why
+     */
+    public static class Conflict {
+        private LocalDate date;
+        private LocalTime time;
+        private String reason;
+        
+        public Conflict(LocalDate date, LocalTime time, String reason) {
+            this.date = date;
+            this.time = time;
+            this.reason = reason;
+        }
+        
+        public LocalDate getDate() {
+            return date;
+        }
+        
+        public LocalTime getTime() {
+            return time;
+        }
+        
+        public String getReason() {
+            return reason;
+        }
+    }
+}
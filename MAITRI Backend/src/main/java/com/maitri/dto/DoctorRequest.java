@@ -0,0 +1,128 @@
+package com.maitri.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class DoctorRequest {
+    private String name;
+    private String specialization;
+    private String location;
+    private Integer experienceYears;
+    private Double rating;
+    private BigDecimal consultationFee;
+    private String currency;
+    private List<String> languages;
+    private List<String> consultationTypes;
+    private String imageUrl;
+    private String education;
+    private String about;
+    private Boolean active;
+    
+    // Constructors
+    public DoctorRequest() {}
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getSpecialization() {
+        return specialization;
+    }
+    
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+    
+    public Integer getExperienceYears() {
+        return experienceYears;
+    }
+    
+    public void setExperienceYears(Integer experienceYears) {
+        this.experienceYears = experienceYears;
+    }
+    
+    public Double getRating() {
+        return rating;
+    }
+    
+    public void setRating(Double rating) {
+        this.rating = rating;
+    }
+    
+    public BigDecimal getConsultationFee() {
+        return consultationFee;
+    }
+    
+    public void setConsultationFee(BigDecimal consultationFee) {
+        this.consultationFee = consultationFee;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    
+    public List<String> getLanguages() {
+        return languages;
+    }
+    
+    public void setLanguages(List<String> languages) {
+        this.languages = languages;
+    }
+    
+    public List<String> getConsultationTypes() {
+        return consultationTypes;
+    }
+    
+    public void setConsultationTypes(List<String> consultationTypes) {
+        this.consultationTypes = consultationTypes;
+    }
+    
+    public String getImageUrl() {
+        return imageUrl;
+    }
+    
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+    
+    public String getEducation() {
+        return education;
+    }
+    
+    public void setEducation(String education) {
+        this.education = education;
+    }
+    
+    public String getAbout() {
+        return about;
+    }
+    
+    public void setAbout(String about) {
+        this.about = about;
+    }
+    
+    public Boolean getActive() {
+        return active;
+    }
+    
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+}
@@ -0,0 +1,15 @@
+package com.maitri.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * One recipe in a meal plan. Missing text fields are normalized to ""
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Meal(int id, String title, int readyInMinutes, int servings, String sourceUrl) {
+    
+    public Meal {
+        title = title != null ? title : "";
+        sourceUrl = sourceUrl != null ? sourceUrl : "";
+    }
+}
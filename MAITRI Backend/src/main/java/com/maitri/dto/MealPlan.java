@@ -0,0 +1,29 @@
+package com.maitri.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A generated day of meals. Immutable, so one instance is safely shared between the cache,
+ * concurrent callers and responses.
+ *
+ * Plans from Spoonacular carry nutrients; fallback plans carry the target calories and a dataSource instead.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MealPlan(List<Meal> meals, Nutrients nutrients, Integer calories,
+                       boolean fallback, boolean apiSuccess, String dataSource) {
+    
+    public MealPlan {
+        meals = meals != null ? List.copyOf(meals) : List.of();
+    }
+    
+    /**
+     * Plan returned by the Spoonacular API
+     */
+    public static MealPlan fromApi(List<Meal> meals, Nutrients nutrients) {
+        return new MealPlan(meals, nutrients, null, false, true, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.maitri.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * Generated meal plan with the success envelope; the plan's fields are written at the top level
+ */
+public record MealPlanResponse(boolean success, String message, @JsonUnwrapped MealPlan plan) {
+}
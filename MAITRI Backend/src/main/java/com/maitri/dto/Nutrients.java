@@ -0,0 +1,10 @@
+package com.maitri.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Daily nutrient totals of a meal plan (kcal and grams)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Nutrients(double calories, double protein, double fat, double carbohydrates) {
+}
@@ -0,0 +1,38 @@
+package com.maitri.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Recipe from Spoonacular's /recipes/informationBulk (with nutrition), limited to what the diet
+ * planner shows: ingredients and per-serving nutrients. Missing text and lists are normalized to "" and []
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RecipeDetails(int id, String title, String image, int readyInMinutes, int servings, String sourceUrl,
+                            List<RecipeIngredient> extendedIngredients, Nutrition nutrition) {
+    
+    public RecipeDetails {
+        title = title != null ? title : "";
+        image = image != null ? image : "";
+        sourceUrl = sourceUrl != null ? sourceUrl : "";
+        extendedIngredients = extendedIngredients != null ? List.copyOf(extendedIngredients) : List.of();
+        nutrition = nutrition != null ? nutrition : new Nutrition(List.of());
+    }
+    
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record RecipeIngredient(int id, String name, double amount, String unit, String original) {
+    }
+    
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Nutrition(List<Nutrient> nutrients) {
+        
+        public Nutrition {
+            nutrients = nutrients != null ? List.copyOf(nutrients) : List.of();
+        }
+    }
+    
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Nutrient(String name, double amount, String unit) {
+    }
+}
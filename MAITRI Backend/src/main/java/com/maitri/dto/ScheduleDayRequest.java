@@ -0,0 +1,65 @@
+package com.maitri.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+public class ScheduleDayRequest {
+    private DayOfWeek dayOfWeek;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer slotMinutes;
+    private LocalTime breakStart;
+    private LocalTime breakEnd;
+    
+    // Constructors
+    public ScheduleDayRequest() {}
+    
+    // Getters and Setters
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+    
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+    
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+    
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+    
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+    
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+    
+    public Integer getSlotMinutes() {
+        return slotMinutes;
+    }
+    
+    public void setSlotMinutes(Integer slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+    
+    public LocalTime getBreakStart() {
+        return breakStart;
+    }
+    
+    public void setBreakStart(LocalTime breakStart) {
+        this.breakStart = breakStart;
+    }
+    
+    public LocalTime getBreakEnd() {
+        return breakEnd;
+    }
+    
+    public void setBreakEnd(LocalTime breakEnd) {
+        this.breakEnd = breakEnd;
+    }
+}
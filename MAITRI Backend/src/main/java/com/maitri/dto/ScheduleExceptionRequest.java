@@ -0,0 +1,47 @@
+package com.maitri.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class ScheduleExceptionRequest {
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String reason;
+    
+    // Constructors
+    public ScheduleExceptionRequest() {}
+    
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+    
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+    
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+    
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+    
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,54 @@
+package com.maitri.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class SlotHoldRequest {
+    private Long doctorId;
+    private Long patientId;
+    private LocalDate date;
+    private LocalTime time;
+    
+    // Constructors
+    public SlotHoldRequest() {}
+    
+    public SlotHoldRequest(Long doctorId, Long patientId, LocalDate date, LocalTime time) {
+        this.doctorId = doctorId;
+        this.patientId = patientId;
+        this.date = date;
+        this.time = time;
+    }
+    
+    // Getters and Setters
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public LocalTime getTime() {
+        return time;
+    }
+    
+    public void setTime(LocalTime time) {
+        this.time = time;
+    }
+}
@@ -0,0 +1,17 @@
+package com.maitri.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Response of Spoonacular's /food/ingredients/search, limited to the fields we use.
+ * Bound by Jackson straight from the response body, without a String or JsonNode tree in between.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SpoonacularIngredientSearchResponse(List<Ingredient> results) {
+    
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Ingredient(int id, String name, String image) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.maitri.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Response of Spoonacular's /mealplanner/generate (timeFrame=day), limited to the fields we use.
+ * Bound by Jackson straight from the response body, without a String or JsonNode tree in between.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SpoonacularMealPlanResponse(List<Meal> meals, Nutrients nutrients) {
+}
@@ -0,0 +1,9 @@
+package com.maitri.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * One day (1-7) of a weekly meal plan; the plan's fields are written at the top level
+ */
+public record WeeklyMealPlanDay(int day, @JsonUnwrapped MealPlan plan) {
+}
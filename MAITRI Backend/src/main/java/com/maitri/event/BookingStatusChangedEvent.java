@@ -0,0 +1,75 @@
+package com.maitri.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.maitri.model.Booking;
+
+/**
+ * Published by BookingService whenever a booking is created or its status changes.
+ * previousStatus is null for newly created bookings.
+ */
+public class BookingStatusChangedEvent {
+    
+    private final Long bookingId;
+    private final Long doctorId;
+    private final Long patientId;
+    private final LocalDate date;
+    private final LocalTime time;
+    private final String previousStatus;
+    private final String newStatus;
+    private final LocalDateTime occurredAt;
+    
+    public BookingStatusChangedEvent(Booking booking, String previousStatus) {
+        this.bookingId = booking.getId();
+        this.doctorId = booking.getDoctorId();
+        this.patientId = booking.getPatientId();
+        this.date = booking.getDate();
+        this.time = booking.getTime();
+        this.previousStatus = previousStatus;
+        this.newStatus = booking.getStatus();
+        this.occurredAt = LocalDateTime.now();
+    }
+    
+    public Long getBookingId() {
+        return bookingId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public LocalTime getTime() {
+        return time;
+    }
+    
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public String getNewStatus() {
+        return newStatus;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "BookingStatusChangedEvent{" +
+                "bookingId=" + bookingId +
+                ", previousStatus='" + previousStatus + '\'' +
+                ", newStatus='" + newStatus + '\'' +
+                '}';
+    }
+}
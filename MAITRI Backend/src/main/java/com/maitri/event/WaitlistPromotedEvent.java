@@ -0,0 +1,59 @@
+package com.maitri.event;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published by BookingService when a cancelled slot is handed to the next patient on the waitlist.
+ * The patient holds the slot until expiresAt and can book it like any other held slot.
+ */
+public class WaitlistPromotedEvent {
+    
+    private final String entryId;
+    private final String holdId;
+    private final Long patientId;
+    private final Long doctorId;
+    private final LocalDate date;
+    private final LocalTime time;
+    private final Instant expiresAt;
+    
+    public WaitlistPromotedEvent(String entryId, String holdId, Long patientId, Long doctorId,
+                                 LocalDate date, LocalTime time, Instant expiresAt) {
+        this.entryId = entryId;
+        this.holdId = holdId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.date = date;
+        this.time = time;
+        this.expiresAt = expiresAt;
+    }
+    
+    public String getEntryId() {
+        return entryId;
+    }
+    
+    public String getHoldId() {
+        return holdId;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public LocalTime getTime() {
+        return time;
+    }
+    
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
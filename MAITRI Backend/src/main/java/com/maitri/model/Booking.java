@@ -1,18 +1,29 @@
 package com.maitri.model;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_patient_starts_at_id", columnList = "patient_id, starts_at, id"),
+    @Index(name = "idx_bookings_doctor_starts_at_id", columnList = "doctor_id, starts_at, id"),
+    @Index(name = "idx_bookings_status_starts_at_id", columnList = "status, starts_at, id"),
+    @Index(name = "idx_bookings_series_id", columnList = "series_id")
+})
 public class Booking {
     
     @Id
@@ -40,6 +51,11 @@ public class Booking {
     @Column(name = "booking_time", nullable = false)
     private LocalTime time;
     
+    // date + time as a single timestamptz so time-window queries are plain index range scans.
+    // Derived from date/time on every save; nullable only until old rows are backfilled.
+    @Column(name = "starts_at")
+    private Instant startsAt;
+    
     @Column(name = "consultation_type", nullable = false)
     private String consultationType; // 'video' or 'in-person'
     
@@ -52,8 +68,17 @@ public class Booking {
     @Column(name = "status", nullable = false)
     private String status; // 'pending', 'confirmed', 'completed', 'cancelled'
     
-    @Column(name = "price")
-    private String price;
+    // Consultation fee at booking time. Rows from before this column existed are backfilled
+    // from the old free-text "price" column (e.g. "₹800") by BookingBackfillService.
+    @Column(name = "price_amount", precision = 10, scale = 2)
+    private BigDecimal priceAmount;
+    
+    @Column(name = "currency", length = 3)
+    private String currency;
+    
+    // Shared by all occurrences of a recurring series; null for one-off bookings
+    @Column(name = "series_id", length = 36)
+    private String seriesId;
     
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -68,7 +93,7 @@ public class Booking {
     
     public Booking(Long doctorId, String doctorName, Long patientId, String patientName, 
                    String patientEmail, LocalDate date, LocalTime time, String consultationType,
-                   String symptoms, String notes, String status, String price) {
+                   String symptoms, String notes, String status, BigDecimal priceAmount, String currency) {
         this();
         this.doctorId = doctorId;
         this.doctorName = doctorName;
@@ -81,7 +106,24 @@ public class Booking {
         this.symptoms = symptoms;
         this.notes = notes;
         this.status = status;
-        this.price = price;
+        this.priceAmount = priceAmount;
+        this.currency = currency;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    protected void syncStartsAt() {
+        if (date != null && time != null) {
+            startsAt = toStartsAt(date, time);
+        }
+    }
+    
+    /**
+     * Appointment start instant for a local date and time (server time zone,
+     * the same zone LocalDate.now()/LocalTime.now() use elsewhere)
+     */
+    public static Instant toStartsAt(LocalDate date, LocalTime time) {
+        return LocalDateTime.of(date, time).atZone(ZoneId.systemDefault()).toInstant();
     }
     
     // Getters and Setters
@@ -149,6 +191,10 @@ public class Booking {
         this.time = time;
     }
     
+    public Instant getStartsAt() {
+        return startsAt;
+    }
+    
     public String getConsultationType() {
         return consultationType;
     }
@@ -182,12 +228,20 @@ public class Booking {
         this.updatedAt = LocalDateTime.now();
     }
     
-    public String getPrice() {
-        return price;
+    public BigDecimal getPriceAmount() {
+        return priceAmount;
     }
     
-    public void setPrice(String price) {
-        this.price = price;
+    public void setPriceAmount(BigDecimal priceAmount) {
+        this.priceAmount = priceAmount;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(String currency) {
+        this.currency = currency;
     }
     
     public LocalDateTime getCreatedAt() {
@@ -206,6 +260,14 @@ public class Booking {
         this.updatedAt = updatedAt;
     }
     
+    public String getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(String seriesId) {
+        this.seriesId = seriesId;
+    }
+    
     @Override
     public String toString() {
         return "Booking{" +
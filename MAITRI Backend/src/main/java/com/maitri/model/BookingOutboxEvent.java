@@ -0,0 +1,176 @@
+package com.maitri.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Outbox row for a booking notification (confirmation, cancellation, reminder).
+ * Written in the same transaction as the booking change and delivered later by
+ * BookingEventDispatcher once due_at has passed.
+ */
+@Entity
+@Table(name = "booking_events", indexes = {
+    @Index(name = "idx_booking_events_status_due_at", columnList = "status, due_at"),
+    @Index(name = "idx_booking_events_booking_id", columnList = "booking_id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_booking_events_dedupe_key", columnNames = "dedupe_key"))
+public class BookingOutboxEvent {
+    
+    public static final String BOOKING_CREATED = "BOOKING_CREATED";
+    public static final String BOOKING_CONFIRMED = "BOOKING_CONFIRMED";
+    public static final String BOOKING_CANCELLED = "BOOKING_CANCELLED";
+    public static final String REMINDER_24H = "REMINDER_24H";
+    public static final String REMINDER_1H = "REMINDER_1H";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+    
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+    
+    @Column(name = "status", nullable = false, length = 16)
+    private String status; // 'pending', 'sent', 'failed', 'cancelled'
+    
+    @Column(name = "due_at", nullable = false)
+    private Instant dueAt;
+    
+    // "bookingId:eventType" while a reminder is pending, null otherwise, so a booking never has two of the same queued
+    @Column(name = "dedupe_key", length = 64)
+    private String dedupeKey;
+    
+    // Snapshot of what the notification needs, so delivery never re-reads the booking
+    @Column(name = "recipient_email", nullable = false)
+    private String recipientEmail;
+    
+    @Column(name = "patient_name", nullable = false)
+    private String patientName;
+    
+    @Column(name = "doctor_name", nullable = false)
+    private String doctorName;
+    
+    @Column(name = "appointment_starts_at", nullable = false)
+    private Instant appointmentStartsAt;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    // Constructors
+    public BookingOutboxEvent() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    public BookingOutboxEvent(Booking booking, String eventType, Instant dueAt) {
+        this();
+        this.bookingId = booking.getId();
+        this.eventType = eventType;
+        this.status = "pending";
+        this.dueAt = dueAt;
+        this.dedupeKey = REMINDER_24H.equals(eventType) || REMINDER_1H.equals(eventType) ? booking.getId() + ":" + eventType : null;
+        this.recipientEmail = booking.getPatientEmail();
+        this.patientName = booking.getPatientName();
+        this.doctorName = booking.getDoctorName();
+        this.appointmentStartsAt = Booking.toStartsAt(booking.getDate(), booking.getTime());
+    }
+    
+    /**
+     * Record a successful delivery
+     */
+    public void markSent() {
+        this.status = "sent";
+        this.dedupeKey = null;
+        this.sentAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+    
+    /**
+     * Record a failed delivery; retry at retryAt, or give up when retryAt is null
+     */
+    public void markFailed(String error, Instant retryAt) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        if (retryAt == null) {
+            this.status = "failed";
+            this.dedupeKey = null;
+        } else {
+            this.dueAt = retryAt;
+        }
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getBookingId() {
+        return bookingId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public Instant getDueAt() {
+        return dueAt;
+    }
+    
+    public String getDedupeKey() {
+        return dedupeKey;
+    }
+    
+    public String getRecipientEmail() {
+        return recipientEmail;
+    }
+    
+    public String getPatientName() {
+        return patientName;
+    }
+    
+    public String getDoctorName() {
+        return doctorName;
+    }
+    
+    public Instant getAppointmentStartsAt() {
+        return appointmentStartsAt;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+}
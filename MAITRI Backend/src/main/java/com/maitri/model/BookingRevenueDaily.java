@@ -0,0 +1,83 @@
+package com.maitri.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Pre-aggregated revenue per appointment day, doctor, consultation type and currency.
+ * Rebuilt from bookings by BookingRevenueService; read by revenue dashboards.
+ */
+@Entity
+@Table(name = "booking_revenue_daily", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_booking_revenue_daily_group",
+                      columnNames = {"revenue_date", "doctor_id", "consultation_type", "currency"})
+})
+public class BookingRevenueDaily {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "revenue_date", nullable = false)
+    private LocalDate date;
+    
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+    
+    @Column(name = "consultation_type", nullable = false)
+    private String consultationType;
+    
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+    
+    @Column(name = "bookings", nullable = false)
+    private long bookings;
+    
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+    
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public String getConsultationType() {
+        return consultationType;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public long getBookings() {
+        return bookings;
+    }
+    
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+    
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.maitri.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * One committed booking status transition. Rows are append-only: they are written in
+ * batches by BookingAuditService and never updated.
+ */
+@Entity
+@Table(name = "booking_status_history", indexes = {
+    @Index(name = "idx_booking_status_history_booking", columnList = "booking_id, changed_at"),
+    @Index(name = "idx_booking_status_history_changed_at", columnList = "changed_at")
+})
+public class BookingStatusHistory {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+    
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+    
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+    
+    @Column(name = "previous_status")
+    private String previousStatus; // null when the booking was created
+    
+    @Column(name = "new_status", nullable = false)
+    private String newStatus;
+    
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getBookingId() {
+        return bookingId;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public Long getPatientId() {
+        return patientId;
+    }
+    
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public String getNewStatus() {
+        return newStatus;
+    }
+    
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
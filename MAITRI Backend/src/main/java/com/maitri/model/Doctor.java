@@ -0,0 +1,212 @@
+package com.maitri.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "doctors", indexes = {
+    @Index(name = "idx_doctors_specialization", columnList = "specialization"),
+    @Index(name = "idx_doctors_location", columnList = "location")
+})
+public class Doctor {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "name", nullable = false)
+    private String name;
+    
+    @Column(name = "specialization", nullable = false)
+    private String specialization;
+    
+    @Column(name = "location")
+    private String location;
+    
+    @Column(name = "experience_years")
+    private Integer experienceYears;
+    
+    @Column(name = "rating")
+    private Double rating;
+    
+    @Column(name = "consultation_fee", precision = 10, scale = 2)
+    private BigDecimal consultationFee;
+    
+    @Column(name = "currency", length = 3)
+    private String currency;
+    
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "doctor_languages", joinColumns = @JoinColumn(name = "doctor_id"),
+                     indexes = @Index(name = "idx_doctor_languages_language", columnList = "language"))
+    @Column(name = "language", nullable = false)
+    private Set<String> languages = new LinkedHashSet<>();
+    
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "doctor_consultation_types", joinColumns = @JoinColumn(name = "doctor_id"))
+    @Column(name = "consultation_type", nullable = false)
+    private Set<String> consultationTypes = new LinkedHashSet<>(); // 'video' and/or 'in-person'
+    
+    @Column(name = "image_url")
+    private String imageUrl;
+    
+    @Column(name = "education")
+    private String education;
+    
+    @Column(name = "about", columnDefinition = "TEXT")
+    private String about;
+    
+    @Column(name = "active", nullable = false)
+    private boolean active = true;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public Doctor() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getSpecialization() {
+        return specialization;
+    }
+    
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+    
+    public Integer getExperienceYears() {
+        return experienceYears;
+    }
+    
+    public void setExperienceYears(Integer experienceYears) {
+        this.experienceYears = experienceYears;
+    }
+    
+    public Double getRating() {
+        return rating;
+    }
+    
+    public void setRating(Double rating) {
+        this.rating = rating;
+    }
+    
+    public BigDecimal getConsultationFee() {
+        return consultationFee;
+    }
+    
+    public void setConsultationFee(BigDecimal consultationFee) {
+        this.consultationFee = consultationFee;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    
+    public Set<String> getLanguages() {
+        return languages;
+    }
+    
+    public void setLanguages(Set<String> languages) {
+        this.languages = languages;
+    }
+    
+    public Set<String> getConsultationTypes() {
+        return consultationTypes;
+    }
+    
+    public void setConsultationTypes(Set<String> consultationTypes) {
+        this.consultationTypes = consultationTypes;
+    }
+    
+    public String getImageUrl() {
+        return imageUrl;
+    }
+    
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+    
+    public String getEducation() {
+        return education;
+    }
+    
+    public void setEducation(String education) {
+        this.education = education;
+    }
+    
+    public String getAbout() {
+        return about;
+    }
+    
+    public void setAbout(String about) {
+        this.about = about;
+    }
+    
+    public boolean isActive() {
+        return active;
+    }
+    
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
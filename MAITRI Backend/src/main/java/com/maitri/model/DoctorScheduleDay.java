@@ -0,0 +1,131 @@
+package com.maitri.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One day of a doctor's weekly schedule template: working hours, slot length and an optional break.
+ * Days without a row are days off (once the doctor has any rows at all).
+ */
+@Entity
+@Table(name = "doctor_schedule_days", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_doctor_schedule_days_doctor_day", columnNames = {"doctor_id", "day_of_week"})
+})
+public class DoctorScheduleDay {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+    
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+    
+    // The last slot must finish by this time
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+    
+    @Column(name = "slot_minutes", nullable = false)
+    private int slotMinutes;
+    
+    @Column(name = "break_start")
+    private LocalTime breakStart;
+    
+    @Column(name = "break_end")
+    private LocalTime breakEnd;
+    
+    // Constructors
+    public DoctorScheduleDay() {}
+    
+    public DoctorScheduleDay(Long doctorId, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime,
+                             int slotMinutes, LocalTime breakStart, LocalTime breakEnd) {
+        this.doctorId = doctorId;
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.slotMinutes = slotMinutes;
+        this.breakStart = breakStart;
+        this.breakEnd = breakEnd;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+    
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+    
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+    
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+    
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+    
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+    
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+    
+    public void setSlotMinutes(int slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+    
+    public LocalTime getBreakStart() {
+        return breakStart;
+    }
+    
+    public void setBreakStart(LocalTime breakStart) {
+        this.breakStart = breakStart;
+    }
+    
+    public LocalTime getBreakEnd() {
+        return breakEnd;
+    }
+    
+    public void setBreakEnd(LocalTime breakEnd) {
+        this.breakEnd = breakEnd;
+    }
+}
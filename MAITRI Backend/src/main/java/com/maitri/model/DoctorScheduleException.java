@@ -0,0 +1,109 @@
+package com.maitri.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A one-off change to a doctor's schedule on a specific date.
+ * Without start/end times the doctor is unavailable all day; with them they replace that day's hours.
+ */
+@Entity
+@Table(name = "doctor_schedule_exceptions", indexes = {
+    @Index(name = "idx_doctor_schedule_exceptions_doctor_date", columnList = "doctor_id, exception_date")
+})
+public class DoctorScheduleException {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+    
+    @Column(name = "exception_date", nullable = false)
+    private LocalDate date;
+    
+    @Column(name = "start_time")
+    private LocalTime startTime;
+    
+    @Column(name = "end_time")
+    private LocalTime endTime;
+    
+    @Column(name = "reason")
+    private String reason;
+    
+    // Constructors
+    public DoctorScheduleException() {}
+    
+    public DoctorScheduleException(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime, String reason) {
+        this.doctorId = doctorId;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.reason = reason;
+    }
+    
+    /**
+     * Whether the doctor is off for the whole day
+     */
+    public boolean isDayOff() {
+        return startTime == null || endTime == null;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+    
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+    
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+    
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+    
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
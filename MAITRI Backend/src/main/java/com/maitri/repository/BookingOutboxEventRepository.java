@@ -0,0 +1,35 @@
+package com.maitri.repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.maitri.model.BookingOutboxEvent;
+
+@Repository
+public interface BookingOutboxEventRepository extends JpaRepository<BookingOutboxEvent, Long> {
+    
+    // Claim a batch of due events; rows locked by another node's dispatcher are skipped, not waited on
+    @Query(value = "SELECT * FROM booking_events WHERE status = 'pending' AND due_at <= :now " +
+                   "ORDER BY due_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<BookingOutboxEvent> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+    
+    // Drop reminders that are no longer relevant (booking no longer confirmed, or confirmed again)
+    @Modifying
+    @Query("UPDATE BookingOutboxEvent e SET e.status = 'cancelled', e.dedupeKey = NULL " +
+           "WHERE e.bookingId = :bookingId AND e.status = 'pending' AND e.eventType IN :eventTypes")
+    int cancelPending(@Param("bookingId") Long bookingId, @Param("eventTypes") List<String> eventTypes);
+    
+    // Housekeeping: delete delivered/cancelled events older than the cutoff
+    @Modifying
+    @Query("DELETE FROM BookingOutboxEvent e WHERE e.status IN ('sent', 'cancelled') AND e.createdAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    long countByStatus(String status);
+}
@@ -1,11 +1,14 @@
 package com.maitri.repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,12 +18,6 @@ import com.maitri.model.Booking;
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
-    // Find all bookings for a specific patient
-    List<Booking> findByPatientIdOrderByDateDescTimeDesc(Long patientId);
-    
-    // Find all bookings for a specific doctor
-    List<Booking> findByDoctorIdOrderByDateDescTimeDesc(Long doctorId);
-    
     // Check if a specific time slot is already booked with a doctor
     @Query("SELECT b FROM Booking b WHERE b.doctorId = :doctorId AND b.date = :date AND b.time = :time AND b.status != 'cancelled'")
     Optional<Booking> findByDoctorIdAndDateAndTimeAndStatusNot(
@@ -29,39 +26,26 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         @Param("time") LocalTime time
     );
     
-    // Find bookings by date range for a doctor
-    @Query("SELECT b FROM Booking b WHERE b.doctorId = :doctorId AND b.date BETWEEN :startDate AND :endDate ORDER BY b.date, b.time")
-    List<Booking> findByDoctorIdAndDateBetween(
+    // Find bookings for a doctor starting within [startsFrom, startsBefore)
+    @Query("SELECT b FROM Booking b WHERE b.doctorId = :doctorId AND b.startsAt >= :startsFrom AND b.startsAt < :startsBefore ORDER BY b.startsAt")
+    List<Booking> findByDoctorIdAndStartsAtRange(
         @Param("doctorId") Long doctorId,
-        @Param("startDate") LocalDate startDate,
-        @Param("endDate") LocalDate endDate
-    );
-    
-    // Find upcoming bookings for a patient
-    @Query("SELECT b FROM Booking b WHERE b.patientId = :patientId AND (b.date > :currentDate OR (b.date = :currentDate AND b.time > :currentTime)) AND b.status != 'cancelled' ORDER BY b.date, b.time")
-    List<Booking> findUpcomingBookingsByPatientId(
-        @Param("patientId") Long patientId,
-        @Param("currentDate") LocalDate currentDate,
-        @Param("currentTime") LocalTime currentTime
+        @Param("startsFrom") Instant startsFrom,
+        @Param("startsBefore") Instant startsBefore
     );
     
-    // Find past bookings for a patient
-    @Query("SELECT b FROM Booking b WHERE b.patientId = :patientId AND (b.date < :currentDate OR (b.date = :currentDate AND b.time <= :currentTime)) ORDER BY b.date DESC, b.time DESC")
-    List<Booking> findPastBookingsByPatientId(
-        @Param("patientId") Long patientId,
-        @Param("currentDate") LocalDate currentDate,
-        @Param("currentTime") LocalTime currentTime
-    );
+    // Start times already taken (not cancelled) among a set of candidate starts for a doctor
+    @Query("SELECT b.startsAt FROM Booking b WHERE b.doctorId = :doctorId AND b.startsAt IN :startsAts AND b.status <> 'cancelled'")
+    List<Instant> findTakenStartsAt(@Param("doctorId") Long doctorId, @Param("startsAts") List<Instant> startsAts);
     
-    // Find bookings by status
-    List<Booking> findByStatusOrderByDateDescTimeDesc(String status);
+    // All occurrences of a recurring series, in appointment order
+    List<Booking> findBySeriesIdOrderByStartsAt(String seriesId);
     
-    // Find past bookings by status (for auto-completion)
-    @Query("SELECT b FROM Booking b WHERE b.status = :status AND (b.date < :currentDate OR (b.date = :currentDate AND b.time <= :currentTime)) ORDER BY b.date DESC, b.time DESC")
+    // Find bookings with a status that started at or before the cutoff (for auto-completion)
+    @Query("SELECT b FROM Booking b WHERE b.status = :status AND b.startsAt <= :cutoff ORDER BY b.startsAt DESC")
     List<Booking> findPastBookingsByStatus(
         @Param("status") String status,
-        @Param("currentDate") LocalDate currentDate,
-        @Param("currentTime") LocalTime currentTime
+        @Param("cutoff") Instant cutoff
     );
     
     // Count bookings for a specific doctor on a specific date
@@ -70,4 +54,185 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         @Param("doctorId") Long doctorId,
         @Param("date") LocalDate date
     );
-}
\ No newline at end of file
+    
+    // Keyset pages: rows strictly after the (startsAt, id) cursor in the given direction.
+    // Row-value comparisons let Postgres seek straight into the (x, starts_at, id) indexes.
+    
+    // A patient's bookings, newest first
+    @Query(value = "SELECT * FROM bookings WHERE patient_id = :patientId AND (starts_at, id) < (:startsAt, :id) " +
+                   "ORDER BY starts_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Booking> findPatientPageDescending(
+        @Param("patientId") Long patientId,
+        @Param("startsAt") Instant startsAt,
+        @Param("id") Long id,
+        @Param("limit") int limit
+    );
+    
+    // A patient's non-cancelled bookings, soonest first
+    @Query(value = "SELECT * FROM bookings WHERE patient_id = :patientId AND status <> 'cancelled' AND (starts_at, id) > (:startsAt, :id) " +
+                   "ORDER BY starts_at, id LIMIT :limit", nativeQuery = true)
+    List<Booking> findActivePatientPageAscending(
+        @Param("patientId") Long patientId,
+        @Param("startsAt") Instant startsAt,
+        @Param("id") Long id,
+        @Param("limit") int limit
+    );
+    
+    // A doctor's bookings, newest first
+    @Query(value = "SELECT * FROM bookings WHERE doctor_id = :doctorId AND (starts_at, id) < (:startsAt, :id) " +
+                   "ORDER BY starts_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Booking> findDoctorPageDescending(
+        @Param("doctorId") Long doctorId,
+        @Param("startsAt") Instant startsAt,
+        @Param("id") Long id,
+        @Param("limit") int limit
+    );
+    
+    // A doctor's non-cancelled bookings, soonest first (agenda)
+    @Query(value = "SELECT * FROM bookings WHERE doctor_id = :doctorId AND status <> 'cancelled' AND (starts_at, id) > (:startsAt, :id) " +
+                   "ORDER BY starts_at, id LIMIT :limit", nativeQuery = true)
+    List<Booking> findActiveDoctorPageAscending(
+        @Param("doctorId") Long doctorId,
+        @Param("startsAt") Instant startsAt,
+        @Param("id") Long id,
+        @Param("limit") int limit
+    );
+    
+    // Bookings with a status, newest first
+    @Query(value = "SELECT * FROM bookings WHERE status = :status AND (starts_at, id) < (:startsAt, :id) " +
+                   "ORDER BY starts_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Booking> findStatusPageDescending(
+        @Param("status") String status,
+        @Param("startsAt") Instant startsAt,
+        @Param("id") Long id,
+        @Param("limit") int limit
+    );
+    
+    // Number of bookings per status (admin statistics)
+    @Query("SELECT b.status AS status, COUNT(b) AS count FROM Booking b GROUP BY b.status")
+    List<StatusCount> countGroupedByStatus();
+    
+    // Number of bookings per doctor and status (admin statistics)
+    @Query("SELECT b.doctorId AS doctorId, MAX(b.doctorName) AS doctorName, b.status AS status, COUNT(b) AS count " +
+           "FROM Booking b GROUP BY b.doctorId, b.status ORDER BY b.doctorId")
+    List<DoctorStatusCount> countGroupedByDoctorAndStatus();
+    
+    // Number of bookings per appointment day and status within a date range (admin statistics)
+    @Query("SELECT b.date AS date, b.status AS status, COUNT(b) AS count FROM Booking b " +
+           "WHERE b.date BETWEEN :startDate AND :endDate GROUP BY b.date, b.status ORDER BY b.date")
+    List<DailyStatusCount> countGroupedByDateAndStatus(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    // Non-cancelled bookings per slot for a doctor within a time window (calendar view)
+    @Query("SELECT b.date AS date, b.time AS time, COUNT(b) AS count FROM Booking b " +
+           "WHERE b.doctorId = :doctorId AND b.startsAt >= :startsFrom AND b.startsAt < :startsBefore " +
+           "AND b.status <> 'cancelled' GROUP BY b.date, b.time ORDER BY b.date, b.time")
+    List<SlotCount> countActiveByDoctorGroupedBySlot(
+        @Param("doctorId") Long doctorId,
+        @Param("startsFrom") Instant startsFrom,
+        @Param("startsBefore") Instant startsBefore
+    );
+    
+    // Fill starts_at for rows created before the column existed (date + time in the given zone)
+    @Modifying
+    @Query(value = "UPDATE bookings SET starts_at = (booking_date + booking_time) AT TIME ZONE :zone WHERE starts_at IS NULL", nativeQuery = true)
+    int backfillStartsAt(@Param("zone") String zone);
+    
+    // Whether the old free-text price column is still present (databases created before price_amount)
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM information_schema.columns " +
+                   "WHERE table_name = 'bookings' AND column_name = 'price')", nativeQuery = true)
+    boolean hasLegacyPriceColumn();
+    
+    // Parse the old free-text price ("₹800", "Rs. 1,200", "$20") into price_amount and currency
+    @Modifying
+    @Query(value = "UPDATE bookings SET " +
+                   "price_amount = CAST(substring(replace(price, ',', '') from '[0-9][0-9.]*') AS NUMERIC(10, 2)), " +
+                   "currency = CASE WHEN position('$' in price) > 0 OR upper(price) LIKE '%USD%' THEN 'USD' ELSE 'INR' END " +
+                   "WHERE price_amount IS NULL " +
+                   "AND substring(replace(price, ',', '') from '[0-9][0-9.]*') ~ '^[0-9]+[.]{0,1}[0-9]*$'", nativeQuery = true)
+    int backfillPriceAmount();
+    
+    // Revenue per doctor for bookings with the given statuses in a time window
+    @Query("SELECT b.doctorId AS doctorId, MAX(b.doctorName) AS doctorName, b.currency AS currency, " +
+           "COUNT(b) AS bookings, SUM(b.priceAmount) AS revenue FROM Booking b " +
+           "WHERE b.status IN :statuses AND b.startsAt >= :startsFrom AND b.startsAt < :startsBefore " +
+           "GROUP BY b.doctorId, b.currency ORDER BY SUM(b.priceAmount) DESC")
+    List<DoctorRevenue> sumRevenueByDoctor(
+        @Param("statuses") List<String> statuses,
+        @Param("startsFrom") Instant startsFrom,
+        @Param("startsBefore") Instant startsBefore
+    );
+    
+    // Revenue per appointment day for bookings with the given statuses in a time window
+    @Query("SELECT b.date AS date, b.currency AS currency, COUNT(b) AS bookings, SUM(b.priceAmount) AS revenue " +
+           "FROM Booking b WHERE b.status IN :statuses AND b.startsAt >= :startsFrom AND b.startsAt < :startsBefore " +
+           "GROUP BY b.date, b.currency ORDER BY b.date")
+    List<DailyRevenue> sumRevenueByDay(
+        @Param("statuses") List<String> statuses,
+        @Param("startsFrom") Instant startsFrom,
+        @Param("startsBefore") Instant startsBefore
+    );
+    
+    // Revenue per consultation type for bookings with the given statuses in a time window
+    @Query("SELECT b.consultationType AS consultationType, b.currency AS currency, COUNT(b) AS bookings, " +
+           "SUM(b.priceAmount) AS revenue FROM Booking b " +
+           "WHERE b.status IN :statuses AND b.startsAt >= :startsFrom AND b.startsAt < :startsBefore " +
+           "GROUP BY b.consultationType, b.currency ORDER BY b.consultationType")
+    List<ConsultationTypeRevenue> sumRevenueByConsultationType(
+        @Param("statuses") List<String> statuses,
+        @Param("startsFrom") Instant startsFrom,
+        @Param("startsBefore") Instant startsBefore
+    );
+    
+    // First and last appointment day on record (full revenue rollup rebuilds)
+    @Query("SELECT MIN(b.date) FROM Booking b")
+    LocalDate findEarliestBookingDate();
+    
+    @Query("SELECT MAX(b.date) FROM Booking b")
+    LocalDate findLatestBookingDate();
+    
+    interface StatusCount {
+        String getStatus();
+        Long getCount();
+    }
+    
+    interface DoctorStatusCount {
+        Long getDoctorId();
+        String getDoctorName();
+        String getStatus();
+        Long getCount();
+    }
+    
+    interface DailyStatusCount {
+        LocalDate getDate();
+        String getStatus();
+        Long getCount();
+    }
+    
+    interface SlotCount {
+        LocalDate getDate();
+        LocalTime getTime();
+        Long getCount();
+    }
+    
+    interface RevenueTotal {
+        String getCurrency();
+        Long getBookings();
+        BigDecimal getRevenue();
+    }
+    
+    interface DoctorRevenue extends RevenueTotal {
+        Long getDoctorId();
+        String getDoctorName();
+    }
+    
+    interface DailyRevenue extends RevenueTotal {
+        LocalDate getDate();
+    }
+    
+    interface ConsultationTypeRevenue extends RevenueTotal {
+        String getConsultationType();
+    }
+}
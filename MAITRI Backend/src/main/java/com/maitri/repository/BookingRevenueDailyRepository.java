@@ -0,0 +1,39 @@
+package com.maitri.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.maitri.model.BookingRevenueDaily;
+import com.maitri.repository.BookingRepository.DailyRevenue;
+
+@Repository
+public interface BookingRevenueDailyRepository extends JpaRepository<BookingRevenueDaily, Long> {
+    
+    // Remove rollup rows for a range of days before they are recomputed
+    @Modifying
+    @Query("DELETE FROM BookingRevenueDaily r WHERE r.date BETWEEN :startDate AND :endDate")
+    int deleteByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    // Recompute rollup rows from bookings with revenue statuses in a time window (one INSERT ... SELECT)
+    @Modifying
+    @Query(value = "INSERT INTO booking_revenue_daily " +
+                   "(revenue_date, doctor_id, consultation_type, currency, bookings, revenue, refreshed_at) " +
+                   "SELECT booking_date, doctor_id, consultation_type, COALESCE(currency, 'INR'), COUNT(*), " +
+                   "COALESCE(SUM(price_amount), 0), now() FROM bookings " +
+                   "WHERE status IN ('confirmed', 'completed') AND starts_at >= :startsFrom AND starts_at < :startsBefore " +
+                   "GROUP BY booking_date, doctor_id, consultation_type, COALESCE(currency, 'INR')", nativeQuery = true)
+    int insertAggregates(@Param("startsFrom") Instant startsFrom, @Param("startsBefore") Instant startsBefore);
+    
+    // Dashboard read: revenue per day (all doctors) from the rollup
+    @Query("SELECT r.date AS date, r.currency AS currency, SUM(r.bookings) AS bookings, SUM(r.revenue) AS revenue " +
+           "FROM BookingRevenueDaily r WHERE r.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.date, r.currency ORDER BY r.date")
+    List<DailyRevenue> sumByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,51 @@
+package com.maitri.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.maitri.model.BookingStatusHistory;
+
+@Repository
+public interface BookingStatusHistoryRepository extends JpaRepository<BookingStatusHistory, Long> {
+    
+    // Full transition history of a booking, oldest first
+    List<BookingStatusHistory> findByBookingIdOrderByChangedAtAscIdAsc(Long bookingId);
+    
+    // Time spent in each status before moving to the next one, for transitions that happened in a window.
+    // Durations are derived by pairing each entry with the booking's next entry (LEAD).
+    @Query(value = "WITH h AS (" +
+                   "SELECT new_status AS status, changed_at AS entered_at, " +
+                   "LEAD(new_status) OVER w AS next_status, LEAD(changed_at) OVER w AS left_at " +
+                   "FROM booking_status_history " +
+                   "WHERE booking_id IN (SELECT booking_id FROM booking_status_history " +
+                   "WHERE changed_at >= :changedFrom AND changed_at < :changedBefore " +
+                   "AND (CAST(:doctorId AS BIGINT) IS NULL OR doctor_id = CAST(:doctorId AS BIGINT))) " +
+                   "WINDOW w AS (PARTITION BY booking_id ORDER BY changed_at, id)) " +
+                   "SELECT status AS status, next_status AS nextStatus, COUNT(*) AS transitions, " +
+                   "AVG(EXTRACT(EPOCH FROM left_at - entered_at)) AS avgSeconds, " +
+                   "PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY EXTRACT(EPOCH FROM left_at - entered_at)) AS p50Seconds, " +
+                   "PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY EXTRACT(EPOCH FROM left_at - entered_at)) AS p90Seconds, " +
+                   "MAX(EXTRACT(EPOCH FROM left_at - entered_at)) AS maxSeconds " +
+                   "FROM h WHERE left_at >= :changedFrom AND left_at < :changedBefore " +
+                   "GROUP BY status, next_status ORDER BY status, next_status", nativeQuery = true)
+    List<StateDuration> summarizeTimeInState(
+        @Param("changedFrom") LocalDateTime changedFrom,
+        @Param("changedBefore") LocalDateTime changedBefore,
+        @Param("doctorId") Long doctorId
+    );
+    
+    interface StateDuration {
+        String getStatus();
+        String getNextStatus();
+        Long getTransitions();
+        Double getAvgSeconds();
+        Double getP50Seconds();
+        Double getP90Seconds();
+        Double getMaxSeconds();
+    }
+}
@@ -0,0 +1,19 @@
+package com.maitri.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.maitri.model.Doctor;
+
+@Repository
+public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+    
+    /**
+     * Load every doctor with languages and consultation types in one query (directory cache refresh)
+     */
+    @Query("SELECT DISTINCT d FROM Doctor d LEFT JOIN FETCH d.languages LEFT JOIN FETCH d.consultationTypes ORDER BY d.id")
+    List<Doctor> findAllWithDetails();
+}
@@ -0,0 +1,27 @@
+package com.maitri.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.maitri.model.DoctorScheduleDay;
+
+@Repository
+public interface DoctorScheduleDayRepository extends JpaRepository<DoctorScheduleDay, Long> {
+    
+    /**
+     * Find a doctor's weekly schedule template
+     */
+    List<DoctorScheduleDay> findByDoctorId(Long doctorId);
+    
+    /**
+     * Remove a doctor's weekly schedule template (before saving a replacement)
+     */
+    @Modifying
+    @Query("DELETE FROM DoctorScheduleDay d WHERE d.doctorId = :doctorId")
+    int deleteByDoctorId(@Param("doctorId") Long doctorId);
+}
@@ -0,0 +1,18 @@
+package com.maitri.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.maitri.model.DoctorScheduleException;
+
+@Repository
+public interface DoctorScheduleExceptionRepository extends JpaRepository<DoctorScheduleException, Long> {
+    
+    /**
+     * Find a doctor's schedule exceptions from a date onwards
+     */
+    List<DoctorScheduleException> findByDoctorIdAndDateGreaterThanEqualOrderByDate(Long doctorId, LocalDate fromDate);
+}
@@ -1,5 +1,6 @@
 package com.maitri.service;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -9,10 +10,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maitri.util.CircuitBreaker;
+import com.maitri.util.CircuitBreaker.CallNotPermittedException;
+import com.maitri.util.SingleFlight;
 
+import jakarta.annotation.PostConstruct;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -29,8 +35,28 @@ public class AiService {
     @Value("${app.gemini.model:gemini-2.5-flash}")
     private String model;
 
+    // While Gemini is failing, chats get the apology straight away instead of waiting 30s for the timeout
+    @Value("${app.gemini.circuit-breaker.window-size:20}")
+    private int breakerWindowSize;
+
+    @Value("${app.gemini.circuit-breaker.minimum-calls:5}")
+    private int breakerMinimumCalls;
+
+    @Value("${app.gemini.circuit-breaker.failure-rate-threshold:50}")
+    private int breakerFailureRateThreshold;
+
+    @Value("${app.gemini.circuit-breaker.open-seconds:30}")
+    private int breakerOpenSeconds;
+
+    @Value("${app.gemini.circuit-breaker.half-open-probes:2}")
+    private int breakerHalfOpenProbes;
+
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private CircuitBreaker circuitBreaker;
+
+    // Identical messages sent at the same time (e.g. "hi") share one Gemini call
+    private final SingleFlight<String, String> chatFlights = new SingleFlight<>();
 
     // Maitri's personality and system prompt
     private static final String SYSTEM_PROMPT = """
@@ -98,6 +124,17 @@ public class AiService {
         this.objectMapper = new ObjectMapper();
     }
 
+    @PostConstruct
+    void initCircuitBreaker() {
+        CircuitBreaker.Config config = new CircuitBreaker.Config(breakerWindowSize, breakerMinimumCalls,
+                breakerFailureRateThreshold, Duration.ofSeconds(breakerOpenSeconds), breakerHalfOpenProbes);
+        // Client errors other than 429 (rate limited) mean Gemini itself is up
+        circuitBreaker = new CircuitBreaker("gemini", config,
+                error -> !(error instanceof WebClientResponseException response
+                        && response.getStatusCode().is4xxClientError() && response.getStatusCode().value() != 429),
+                error -> false);
+    }
+
     public Mono<String> getChatResponse(String userMessage) {
         try {
             logger.info("Processing chat request: {}", userMessage);
@@ -112,7 +149,7 @@ public class AiService {
             
             logger.info("Making request to Gemini API: {}", url.replace(apiKey, "***"));
             
-            return webClient.post()
+            return chatFlights.execute(userMessage.trim(), () -> circuitBreaker.protect(() -> webClient.post()
                 .uri(url)
                 .header("Content-Type", "application/json")
                 .header("User-Agent", "Maitri-HealthApp/1.0")
@@ -121,15 +158,20 @@ public class AiService {
                 .onStatus(httpStatus -> !httpStatus.is2xxSuccessful(), 
                     clientResponse -> {
                         logger.error("Gemini API returned status: {}", clientResponse.statusCode());
-                        return clientResponse.bodyToMono(String.class)
-                            .doOnNext(errorBody -> logger.error("Gemini API error body: {}", errorBody))
-                            .then(Mono.error(new RuntimeException("Gemini API error: " + clientResponse.statusCode())));
+                        return clientResponse.createException()
+                            .doOnNext(exception -> logger.error("Gemini API error body: {}", exception.getResponseBodyAsString()));
                     })
                 .bodyToMono(String.class)
+                .timeout(Duration.ofSeconds(30)))
                 .doOnNext(response -> logger.info("Received response from Gemini API"))
-                .map(this::extractResponseText)
-                .timeout(java.time.Duration.ofSeconds(30))
-                .doOnError(error -> logger.error("Gemini API Error: {}", error.getMessage(), error))
+                .map(this::extractResponseText))
+                .doOnError(error -> {
+                    if (error instanceof CallNotPermittedException) {
+                        logger.info("Gemini API skipped: {}", error.getMessage());
+                    } else {
+                        logger.error("Gemini API Error: {}", error.getMessage(), error);
+                    }
+                })
                 .onErrorReturn("I'm sorry, I'm having trouble connecting to my AI service right now. Please try again in a moment. 😔");
                 
         } catch (Exception e) {
@@ -138,6 +180,20 @@ public class AiService {
         }
     }
 
+    /**
+     * Gemini calls issued vs. coalesced with an identical in-flight message
+     */
+    public Map<String, Object> getSingleFlightStats() {
+        return chatFlights.stats();
+    }
+
+    /**
+     * Circuit breaker state and call counters for Gemini
+     */
+    public Map<String, Object> getCircuitBreakerStats() {
+        return circuitBreaker.stats();
+    }
+
     private Map<String, Object> createGeminiRequestBody(String prompt) {
         Map<String, Object> requestBody = new HashMap<>();
         
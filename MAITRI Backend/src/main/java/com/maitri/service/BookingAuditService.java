@@ -0,0 +1,177 @@
+package com.maitri.service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.maitri.event.BookingStatusChangedEvent;
+import com.maitri.model.BookingStatusHistory;
+import com.maitri.repository.BookingStatusHistoryRepository;
+import com.maitri.repository.BookingStatusHistoryRepository.StateDuration;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Append-only audit trail of booking status transitions (booking_status_history).
+ * 
+ * Committed transitions are only queued in memory on the request thread; a background
+ * flush writes them with JDBC batch inserts, so auditing adds no round trip to the
+ * transition itself. Entries still buffered when the process dies are lost.
+ */
+@Service
+public class BookingAuditService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BookingAuditService.class);
+    
+    private static final String INSERT_SQL = "INSERT INTO booking_status_history " +
+            "(booking_id, doctor_id, patient_id, previous_status, new_status, changed_at) VALUES (?, ?, ?, ?, ?, ?)";
+    
+    private static final int MAX_RANGE_DAYS = 366;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private BookingStatusHistoryRepository historyRepository;
+    
+    // Rows per JDBC batch
+    @Value("${app.booking.audit.batch-size:500}")
+    private int batchSize;
+    
+    // Oldest entries are dropped past this many unflushed transitions (database outage)
+    @Value("${app.booking.audit.max-buffered:100000}")
+    private int maxBuffered;
+    
+    private final ConcurrentLinkedQueue<BookingStatusChangedEvent> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    
+    // Batch being written (kept across runs if the insert failed); only touched inside flush()
+    private final List<BookingStatusChangedEvent> inFlight = new ArrayList<>();
+    
+    /**
+     * Queue a committed status change for the next flush
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent event) {
+        buffer.add(event);
+        if (buffered.incrementAndGet() > maxBuffered && buffer.poll() != null) {
+            buffered.decrementAndGet();
+            logger.warn("⚠️ Booking audit buffer full, dropped oldest entry");
+        }
+    }
+    
+    /**
+     * Write buffered transitions in batches; a failed batch is retried first on the next run
+     */
+    @Scheduled(fixedDelayString = "${app.booking.audit.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        int written = 0;
+        
+        while (true) {
+            if (inFlight.isEmpty()) {
+                BookingStatusChangedEvent event;
+                while (inFlight.size() < batchSize && (event = buffer.poll()) != null) {
+                    inFlight.add(event);
+                }
+            }
+            if (inFlight.isEmpty()) {
+                break;
+            }
+            
+            try {
+                insertBatch(inFlight);
+            } catch (Exception e) {
+                logger.error("❌ Failed to write booking audit batch of {}: {}", inFlight.size(), e.getMessage());
+                break;
+            }
+            buffered.addAndGet(-inFlight.size());
+            written += inFlight.size();
+            inFlight.clear();
+        }
+        
+        if (written > 0) {
+            logger.debug("Booking audit: wrote {} status change(s)", written);
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    /**
+     * Transition history of a booking, oldest first (entries from the last second may still be buffered)
+     */
+    public List<BookingStatusHistory> getHistory(Long bookingId) {
+        return historyRepository.findByBookingIdOrderByChangedAtAscIdAsc(bookingId);
+    }
+    
+    /**
+     * Time spent in each status before each kind of transition, for transitions between two dates (inclusive)
+     */
+    public List<Map<String, Object>> getTimeInState(LocalDate from, LocalDate to, Long doctorId) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (StateDuration row : historyRepository.summarizeTimeInState(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay(), doctorId)) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("status", row.getStatus());
+            state.put("nextStatus", row.getNextStatus());
+            state.put("transitions", row.getTransitions());
+            state.put("avgSeconds", round(row.getAvgSeconds()));
+            state.put("p50Seconds", round(row.getP50Seconds()));
+            state.put("p90Seconds", round(row.getP90Seconds()));
+            state.put("maxSeconds", round(row.getMaxSeconds()));
+            rows.add(state);
+        }
+        return rows;
+    }
+    
+    /**
+     * Number of transitions waiting to be written
+     */
+    public int getBufferedCount() {
+        return buffered.get();
+    }
+    
+    private void insertBatch(List<BookingStatusChangedEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+            ps.setLong(1, event.getBookingId());
+            ps.setLong(2, event.getDoctorId());
+            ps.setLong(3, event.getPatientId());
+            if (event.getPreviousStatus() != null) {
+                ps.setString(4, event.getPreviousStatus());
+            } else {
+                ps.setNull(4, Types.VARCHAR);
+            }
+            ps.setString(5, event.getNewStatus());
+            ps.setTimestamp(6, Timestamp.valueOf(event.getOccurredAt()));
+        });
+    }
+    
+    private static Long round(Double seconds) {
+        return seconds != null ? Math.round(seconds) : null;
+    }
+}
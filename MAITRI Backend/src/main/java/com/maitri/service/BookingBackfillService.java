@@ -0,0 +1,42 @@
+package com.maitri.service;
+
+import java.time.ZoneId;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.maitri.repository.BookingRepository;
+
+/**
+ * Fills derived booking columns for rows written before those columns existed.
+ * Runs once at startup, before timers and statistics are loaded.
+ */
+@Service
+public class BookingBackfillService implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BookingBackfillService.class);
+    
+    @Autowired
+    private BookingRepository bookingRepository;
+    
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int updated = bookingRepository.backfillStartsAt(ZoneId.systemDefault().getId());
+        if (updated > 0) {
+            logger.info("🛠️ Backfilled starts_at for {} existing bookings", updated);
+        }
+        
+        if (bookingRepository.hasLegacyPriceColumn()) {
+            int priced = bookingRepository.backfillPriceAmount();
+            if (priced > 0) {
+                logger.info("🛠️ Backfilled price_amount/currency for {} existing bookings", priced);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.maitri.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.maitri.event.BookingStatusChangedEvent;
+import com.maitri.model.Booking;
+import com.maitri.repository.BookingRepository;
+import com.maitri.repository.BookingRepository.SlotCount;
+
+/**
+ * Doctor calendar: per-day booked/free counts (and optionally per-slot occupancy) over a date range.
+ * 
+ * Booked slots are loaded one (doctor, month) at a time with a single grouped query and cached;
+ * booking changes evict the affected month. Free counts come from the doctor's compiled schedule,
+ * so schedule edits are reflected without touching this cache.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookingCalendarService {
+    
+    private static final int MAX_RANGE_DAYS = 92;
+    private static final int MAX_CACHED_MONTHS = 1000;
+    
+    @Autowired
+    private BookingRepository bookingRepository;
+    
+    @Autowired
+    private DoctorScheduleService doctorScheduleService;
+    
+    @Autowired
+    private DoctorDirectoryService doctorDirectoryService;
+    
+    // LRU by (doctor, month) of booked times per day, or of a marker that the month changed since its last load
+    private final Map<MonthKey, MonthEntry> bookedByMonth = Collections.synchronizedMap(
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MonthKey, MonthEntry> eldest) {
+                return size() > MAX_CACHED_MONTHS;
+            }
+        }
+    );
+    
+    // Counts booking changes; entries are stamped with it so a load that raced with a change is not cached
+    private final AtomicLong changeCount = new AtomicLong();
+    
+    /**
+     * Per-day calendar entries for a doctor between two dates (inclusive)
+     */
+    public List<Map<String, Object>> getCalendar(Long doctorId, LocalDate from, LocalDate to, boolean includeSlots) {
+        if (doctorDirectoryService.findById(doctorId).isEmpty()) {
+            throw new IllegalArgumentException("Doctor not found with id: " + doctorId);
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Calendar range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        
+        List<Map<String, Object>> days = new ArrayList<>();
+        Map<LocalDate, Set<LocalTime>> month = null;
+        YearMonth loadedMonth = null;
+        
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            YearMonth yearMonth = YearMonth.from(date);
+            if (!yearMonth.equals(loadedMonth)) {
+                month = bookedTimes(doctorId, yearMonth);
+                loadedMonth = yearMonth;
+            }
+            
+            List<LocalTime> scheduled = doctorScheduleService.getSlots(doctorId, date);
+            Set<LocalTime> booked = month.getOrDefault(date, Set.of());
+            
+            int free = 0;
+            for (LocalTime slot : scheduled) {
+                if (!booked.contains(slot)) {
+                    free++;
+                }
+            }
+            
+            Map<String, Object> day = new LinkedHashMap<>();
+            day.put("date", date);
+            day.put("scheduled", scheduled.size());
+            day.put("booked", booked.size());
+            day.put("free", free);
+            
+            if (includeSlots) {
+                List<Map<String, Object>> slots = new ArrayList<>(scheduled.size());
+                for (LocalTime slot : scheduled) {
+                    Map<String, Object> occupancy = new LinkedHashMap<>();
+                    occupancy.put("time", slot);
+                    occupancy.put("booked", booked.contains(slot));
+                    slots.add(occupancy);
+                }
+                day.put("slots", slots);
+            }
+            days.add(day);
+        }
+        return days;
+    }
+    
+    /**
+     * Evict the month of a booking whenever one is created or changes status
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent event) {
+        MonthKey key = new MonthKey(event.getDoctorId(), YearMonth.from(event.getDate()));
+        bookedByMonth.put(key, new MonthEntry(changeCount.incrementAndGet(), null));
+    }
+    
+    private Map<LocalDate, Set<LocalTime>> bookedTimes(Long doctorId, YearMonth yearMonth) {
+        MonthKey key = new MonthKey(doctorId, yearMonth);
+        MonthEntry cached = bookedByMonth.get(key);
+        if (cached != null && cached.booked() != null) {
+            return cached.booked();
+        }
+        
+        long changesBefore = changeCount.get();
+        List<SlotCount> rows = bookingRepository.countActiveByDoctorGroupedBySlot(
+            doctorId,
+            Booking.toStartsAt(yearMonth.atDay(1), LocalTime.MIDNIGHT),
+            Booking.toStartsAt(yearMonth.plusMonths(1).atDay(1), LocalTime.MIDNIGHT)
+        );
+        
+        Map<LocalDate, Set<LocalTime>> byDate = new HashMap<>();
+        for (SlotCount row : rows) {
+            byDate.computeIfAbsent(row.getDate(), date -> new HashSet<>()).add(row.getTime());
+        }
+        byDate.replaceAll((date, times) -> Set.copyOf(times));
+        Map<LocalDate, Set<LocalTime>> month = Map.copyOf(byDate);
+        
+        // A marker newer than the load means the month changed meanwhile; with no entry at all (the marker
+        // may have been evicted) only caching when nothing changed anywhere is safe
+        bookedByMonth.compute(key, (monthKey, current) -> {
+            boolean changedSince = current != null
+                ? current.stamp() > changesBefore
+                : changeCount.get() != changesBefore;
+            return changedSince ? current : new MonthEntry(changesBefore, month);
+        });
+        return month;
+    }
+    
+    private record MonthKey(Long doctorId, YearMonth month) {}
+    
+    // Booked times per day (null when the month changed and must be reloaded), with the change count it reflects
+    private record MonthEntry(long stamp, Map<LocalDate, Set<LocalTime>> booked) {}
+}
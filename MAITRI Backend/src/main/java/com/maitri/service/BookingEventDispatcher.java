@@ -0,0 +1,115 @@
+package com.maitri.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.maitri.model.BookingOutboxEvent;
+import com.maitri.repository.BookingOutboxEventRepository;
+
+/**
+ * Delivers due booking_events outbox rows through the configured BookingNotifier.
+ * 
+ * Each batch is claimed with SELECT ... FOR UPDATE SKIP LOCKED and marked sent in the
+ * same transaction, so several nodes can dispatch in parallel without sending a row twice.
+ * Failed deliveries are retried with a linear backoff up to a maximum number of attempts.
+ */
+@Service
+public class BookingEventDispatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BookingEventDispatcher.class);
+    
+    // Upper bound on batches per run so one run cannot monopolise the scheduler thread
+    private static final int MAX_BATCHES_PER_RUN = 50;
+    
+    @Autowired
+    private BookingOutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private BookingNotifier bookingNotifier;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${app.booking.outbox.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${app.booking.outbox.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${app.booking.outbox.retention-days:30}")
+    private int retentionDays;
+    
+    public BookingEventDispatcher(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Deliver everything that is due, one claimed batch per transaction
+     */
+    @Scheduled(fixedDelayString = "${app.booking.outbox.poll-interval-ms:15000}",
+               initialDelayString = "${app.booking.outbox.poll-interval-ms:15000}")
+    public void dispatchDue() {
+        try {
+            int dispatched = 0;
+            int claimed;
+            int batches = 0;
+            do {
+                claimed = transactionTemplate.execute(status -> dispatchBatch());
+                dispatched += claimed;
+                batches++;
+            } while (claimed == batchSize && batches < MAX_BATCHES_PER_RUN);
+            
+            if (dispatched > 0) {
+                logger.info("📬 Dispatched {} booking notifications", dispatched);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Error dispatching booking notifications: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Delete delivered and cancelled outbox rows past the retention period (daily at 03:30)
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void purgeFinished() {
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteFinishedBefore(LocalDateTime.now().minusDays(retentionDays))
+            );
+            if (deleted != null && deleted > 0) {
+                logger.info("🧹 Deleted {} old booking notifications", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Error purging booking notifications: {}", e.getMessage(), e);
+        }
+    }
+    
+    private int dispatchBatch() {
+        List<BookingOutboxEvent> events = outboxEventRepository.claimDue(Instant.now(), batchSize);
+        
+        for (BookingOutboxEvent event : events) {
+            try {
+                bookingNotifier.send(event);
+                event.markSent();
+            } catch (Exception e) {
+                boolean giveUp = event.getAttempts() + 1 >= maxAttempts;
+                Instant retryAt = giveUp ? null : Instant.now().plus(Duration.ofMinutes(event.getAttempts() + 1L));
+                event.markFailed(e.getMessage(), retryAt);
+                logger.warn("⚠️ Failed to send {} for booking {} (attempt {}): {}",
+                            event.getEventType(), event.getBookingId(), event.getAttempts(), e.getMessage());
+            }
+        }
+        // Claimed rows are managed entities; their new state is flushed when the transaction commits
+        return events.size();
+    }
+}
@@ -0,0 +1,261 @@
+package com.maitri.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.maitri.model.Booking;
+
+/**
+ * Streams bookings straight from a forward-only JDBC cursor to an output stream.
+ * 
+ * Rows are fetched in fixed-size batches and written as they arrive, so memory use
+ * stays constant regardless of table size. Symptoms and notes are intentionally left
+ * out of exports.
+ */
+@Service
+public class BookingExportService {
+    
+    private static final String[] COLUMNS = {
+        "id", "doctor_id", "doctor_name", "patient_id", "patient_name", "patient_email",
+        "booking_date", "booking_time", "starts_at", "consultation_type", "status", "price_amount", "currency",
+        "created_at", "updated_at"
+    };
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // Rows fetched per round trip while streaming
+    @Value("${app.booking.export-fetch-size:500}")
+    private int fetchSize;
+    
+    private final JsonFactory jsonFactory = new JsonFactory();
+    
+    public enum Format {
+        NDJSON, CSV;
+        
+        public static Format from(String value) {
+            if (value == null || value.isBlank()) {
+                return NDJSON;
+            }
+            try {
+                return Format.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + ". Use ndjson or csv");
+            }
+        }
+    }
+    
+    /**
+     * Write all bookings matching the optional filters to the output stream.
+     * from/to are inclusive appointment dates; status matches exactly.
+     */
+    public void export(Format format, LocalDate from, LocalDate to, String status, OutputStream out) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", COLUMNS)).append(" FROM bookings WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        
+        if (from != null) {
+            sql.append(" AND starts_at >= ?");
+            params.add(Timestamp.from(Booking.toStartsAt(from, LocalTime.MIDNIGHT)));
+        }
+        if (to != null) {
+            sql.append(" AND starts_at < ?");
+            params.add(Timestamp.from(Booking.toStartsAt(to.plusDays(1), LocalTime.MIDNIGHT)));
+        }
+        if (status != null && !status.isBlank()) {
+            sql.append(" AND status = ?");
+            params.add(status);
+        }
+        
+        // Primary key order streams without a sort step
+        sql.append(" ORDER BY id");
+        
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        
+        // Postgres only uses a server-side cursor (honours fetchSize) inside a transaction
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(txStatus -> jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+                );
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                return statement;
+            },
+            writer
+        ));
+        
+        writer.finish();
+    }
+    
+    /**
+     * Writes one row per callback and flushes every fetchSize rows
+     */
+    private abstract class RowWriter implements RowCallbackHandler {
+        
+        private long rows;
+        
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                writeRow(rs);
+                if (++rows % fetchSize == 0) {
+                    flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        void finish() {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+        
+        abstract void flush() throws IOException;
+    }
+    
+    private class NdjsonRowWriter extends RowWriter {
+        
+        private final JsonGenerator generator;
+        
+        NdjsonRowWriter(OutputStream out) {
+            try {
+                this.generator = jsonFactory.createGenerator(out);
+                this.generator.setRootValueSeparator(null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeNumberField("doctorId", rs.getLong("doctor_id"));
+            generator.writeStringField("doctorName", rs.getString("doctor_name"));
+            generator.writeNumberField("patientId", rs.getLong("patient_id"));
+            generator.writeStringField("patientName", rs.getString("patient_name"));
+            generator.writeStringField("patientEmail", rs.getString("patient_email"));
+            generator.writeStringField("date", rs.getString("booking_date"));
+            generator.writeStringField("time", rs.getString("booking_time"));
+            generator.writeStringField("startsAt", columnValue(rs, "starts_at"));
+            generator.writeStringField("consultationType", rs.getString("consultation_type"));
+            generator.writeStringField("status", rs.getString("status"));
+            BigDecimal priceAmount = rs.getBigDecimal("price_amount");
+            if (priceAmount != null) {
+                generator.writeNumberField("priceAmount", priceAmount);
+            } else {
+                generator.writeNullField("priceAmount");
+            }
+            generator.writeStringField("currency", rs.getString("currency"));
+            generator.writeStringField("createdAt", columnValue(rs, "created_at"));
+            generator.writeStringField("updatedAt", columnValue(rs, "updated_at"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+    }
+    
+    private class CsvRowWriter extends RowWriter {
+        
+        private final Writer out;
+        
+        CsvRowWriter(OutputStream out) {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try {
+                this.out.write(String.join(",", COLUMNS));
+                this.out.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeCsvValue(columnValue(rs, COLUMNS[i]));
+            }
+            out.write("\r\n");
+        }
+        
+        @Override
+        void flush() throws IOException {
+            out.flush();
+        }
+        
+        private void writeCsvValue(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+    
+    /**
+     * Column value as text, with timestamps in ISO-8601 like the JSON API uses
+     */
+    private static String columnValue(ResultSet rs, String column) throws SQLException {
+        switch (column) {
+            case "starts_at": {
+                Timestamp timestamp = rs.getTimestamp(column);
+                return timestamp != null ? timestamp.toInstant().toString() : null;
+            }
+            case "created_at":
+            case "updated_at": {
+                Timestamp timestamp = rs.getTimestamp(column);
+                return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+            }
+            default:
+                return rs.getString(column);
+        }
+    }
+}
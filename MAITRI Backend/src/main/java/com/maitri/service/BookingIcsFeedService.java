@@ -0,0 +1,244 @@
+package com.maitri.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.maitri.model.Booking;
+
+/**
+ * Subscribable iCalendar (.ics) feeds of a patient's or doctor's bookings.
+ *
+ * Calendar clients poll feeds often, so each request first reads a cheap version (row count and
+ * latest created/updated time over the owner's index range); the controller answers 304 from that
+ * alone when the client's ETag/If-Modified-Since still matches. Full feeds are streamed straight
+ * from a server-side cursor.
+ */
+@Service
+public class BookingIcsFeedService {
+    
+    private static final DateTimeFormatter ICS_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    
+    // RFC 5545: content lines are folded at 75 octets
+    private static final int MAX_LINE_OCTETS = 75;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // Appointments that ended longer ago than this are left out of feeds
+    @Value("${app.booking.ics.past-days:90}")
+    private int pastDays;
+    
+    @Value("${app.booking.appointment-minutes:30}")
+    private int appointmentMinutes;
+    
+    @Value("${app.booking.export-fetch-size:500}")
+    private int fetchSize;
+    
+    public enum Owner {
+        PATIENT("patient_id"), DOCTOR("doctor_id");
+        
+        private final String column;
+        
+        Owner(String column) {
+            this.column = column;
+        }
+    }
+    
+    /**
+     * What a feed currently contains; lastModified is null for an empty feed
+     */
+    public record FeedVersion(LocalDate since, long bookings, Instant lastModified) {
+        
+        public String etag(Owner owner, Long ownerId) {
+            long modified = lastModified != null ? lastModified.toEpochMilli() : 0;
+            return "\"" + owner.name().toLowerCase() + "-" + ownerId + "-" + since.toEpochDay()
+                    + "-" + bookings + "-" + modified + "\"";
+        }
+    }
+    
+    /**
+     * Current version of a feed: one aggregate over the owner's (id, starts_at) index range
+     */
+    public FeedVersion getVersion(Owner owner, Long ownerId) {
+        LocalDate since = feedStart();
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) AS bookings, MAX(COALESCE(updated_at, created_at)) AS last_modified FROM bookings " +
+            "WHERE " + owner.column + " = ? AND starts_at >= ?",
+            (rs, rowNum) -> {
+                Timestamp lastModified = rs.getTimestamp("last_modified");
+                return new FeedVersion(
+                    since,
+                    rs.getLong("bookings"),
+                    lastModified != null ? lastModified.toLocalDateTime().atZone(ZoneId.systemDefault()).toInstant() : null
+                );
+            },
+            ownerId, Timestamp.from(Booking.toStartsAt(since, LocalTime.MIDNIGHT))
+        );
+    }
+    
+    /**
+     * Stream the feed for an owner as text/calendar
+     */
+    public void write(Owner owner, Long ownerId, FeedVersion version, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        IcsWriter ics = new IcsWriter(writer, owner);
+        
+        ics.line("BEGIN:VCALENDAR");
+        ics.line("VERSION:2.0");
+        ics.line("PRODID:-//Maitri//Bookings//EN");
+        ics.line("CALSCALE:GREGORIAN");
+        ics.line("METHOD:PUBLISH");
+        ics.line("X-WR-CALNAME:" + escape(owner == Owner.PATIENT ? "Maitri appointments" : "Maitri consultations"));
+        
+        String sql = "SELECT id, doctor_name, patient_name, consultation_type, status, starts_at, created_at, updated_at " +
+                     "FROM bookings WHERE " + owner.column + " = ? AND starts_at >= ? ORDER BY starts_at, id";
+        
+        // Postgres only uses a server-side cursor (honours fetchSize) inside a transaction
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(txStatus -> jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+                );
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, ownerId);
+                statement.setTimestamp(2, Timestamp.from(Booking.toStartsAt(version.since(), LocalTime.MIDNIGHT)));
+                return statement;
+            },
+            ics
+        ));
+        
+        ics.line("END:VCALENDAR");
+        ics.flush();
+    }
+    
+    private LocalDate feedStart() {
+        return LocalDate.now().minusDays(pastDays);
+    }
+    
+    /**
+     * Writes one VEVENT per booking row, folding long lines
+     */
+    private class IcsWriter implements RowCallbackHandler {
+        
+        private final Writer writer;
+        private final Owner owner;
+        private long rows;
+        
+        IcsWriter(Writer writer, Owner owner) {
+            this.writer = writer;
+            this.owner = owner;
+        }
+        
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            Instant start = rs.getTimestamp("starts_at").toInstant();
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            LocalDateTime modified = (updatedAt != null ? updatedAt : rs.getTimestamp("created_at")).toLocalDateTime();
+            String consultationType = rs.getString("consultation_type");
+            String summary = owner == Owner.PATIENT
+                    ? "Consultation with " + rs.getString("doctor_name")
+                    : "Consultation: " + rs.getString("patient_name");
+            
+            line("BEGIN:VEVENT");
+            line("UID:booking-" + rs.getLong("id") + "@maitri");
+            line("DTSTAMP:" + ICS_UTC.format(modified.atZone(ZoneId.systemDefault())));
+            line("LAST-MODIFIED:" + ICS_UTC.format(modified.atZone(ZoneId.systemDefault())));
+            line("DTSTART:" + ICS_UTC.format(start));
+            line("DTEND:" + ICS_UTC.format(start.plusSeconds(appointmentMinutes * 60L)));
+            line("SUMMARY:" + escape(summary + ("video".equals(consultationType) ? " (video)" : "")));
+            line("STATUS:" + icsStatus(rs.getString("status")));
+            line("END:VEVENT");
+            
+            if (++rows % fetchSize == 0) {
+                flush();
+            }
+        }
+        
+        void line(String content) {
+            try {
+                byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length <= MAX_LINE_OCTETS) {
+                    writer.write(content);
+                } else {
+                    writeFolded(content);
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        // Continuation lines start with a space; never split a multi-byte character
+        private void writeFolded(String content) throws IOException {
+            int octets = 0;
+            int limit = MAX_LINE_OCTETS;
+            for (int i = 0; i < content.length(); ) {
+                int codePoint = content.codePointAt(i);
+                int size = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+                if (octets + size > limit) {
+                    writer.write("\r\n ");
+                    octets = 0;
+                    limit = MAX_LINE_OCTETS - 1;
+                }
+                writer.write(Character.toChars(codePoint));
+                octets += size;
+                i += Character.charCount(codePoint);
+            }
+        }
+        
+        void flush() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+    
+    private static String icsStatus(String status) {
+        if ("cancelled".equals(status)) {
+            return "CANCELLED";
+        }
+        if ("pending".equals(status)) {
+            return "TENTATIVE";
+        }
+        return "CONFIRMED";
+    }
+    
+    // RFC 5545 TEXT escaping
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\n", "\\n");
+    }
+}
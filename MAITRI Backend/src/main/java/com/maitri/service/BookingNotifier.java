@@ -0,0 +1,12 @@
+package com.maitri.service;
+
+import com.maitri.model.BookingOutboxEvent;
+
+/**
+ * Delivers booking notifications from the outbox (email, SMS, push, ...).
+ * Throwing marks the event for retry.
+ */
+public interface BookingNotifier {
+    
+    void send(BookingOutboxEvent event) throws Exception;
+}
@@ -0,0 +1,69 @@
+package com.maitri.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.maitri.model.Booking;
+import com.maitri.model.BookingOutboxEvent;
+import com.maitri.repository.BookingOutboxEventRepository;
+
+/**
+ * Writes booking notifications to the booking_events outbox as part of the booking's own transaction,
+ * so a notification exists if and only if the booking change committed.
+ */
+@Service
+public class BookingOutboxService {
+    
+    private static final List<String> REMINDER_TYPES = List.of(BookingOutboxEvent.REMINDER_24H, BookingOutboxEvent.REMINDER_1H);
+    
+    @Autowired
+    private BookingOutboxEventRepository outboxEventRepository;
+    
+    /**
+     * Queue the notifications for a booking creation or status change (previousStatus is null on creation)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Booking booking, String previousStatus) {
+        String newStatus = booking.getStatus();
+        Instant now = Instant.now();
+        
+        if (previousStatus == null) {
+            outboxEventRepository.save(new BookingOutboxEvent(booking, BookingOutboxEvent.BOOKING_CREATED, now));
+            return;
+        }
+        if (newStatus.equals(previousStatus)) {
+            return;
+        }
+        
+        // Reminders only stay queued while the appointment is confirmed; a (re-)confirmation queues a fresh set
+        outboxEventRepository.cancelPending(booking.getId(), REMINDER_TYPES);
+        
+        switch (newStatus) {
+            case "confirmed" -> {
+                List<BookingOutboxEvent> events = new ArrayList<>();
+                events.add(new BookingOutboxEvent(booking, BookingOutboxEvent.BOOKING_CONFIRMED, now));
+                
+                // Reminders only for appointments confirmed far enough ahead
+                Instant startsAt = Booking.toStartsAt(booking.getDate(), booking.getTime());
+                addReminder(events, booking, BookingOutboxEvent.REMINDER_24H, startsAt.minus(Duration.ofHours(24)), now);
+                addReminder(events, booking, BookingOutboxEvent.REMINDER_1H, startsAt.minus(Duration.ofHours(1)), now);
+                outboxEventRepository.saveAll(events);
+            }
+            case "cancelled" -> outboxEventRepository.save(new BookingOutboxEvent(booking, BookingOutboxEvent.BOOKING_CANCELLED, now));
+            default -> { }
+        }
+    }
+    
+    private void addReminder(List<BookingOutboxEvent> events, Booking booking, String type, Instant dueAt, Instant now) {
+        if (dueAt.isAfter(now)) {
+            events.add(new BookingOutboxEvent(booking, type, dueAt));
+        }
+    }
+}
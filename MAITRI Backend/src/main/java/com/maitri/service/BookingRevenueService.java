@@ -0,0 +1,218 @@
+package com.maitri.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.maitri.event.BookingStatusChangedEvent;
+import com.maitri.repository.BookingRepository;
+import com.maitri.repository.BookingRepository.ConsultationTypeRevenue;
+import com.maitri.repository.BookingRepository.DailyRevenue;
+import com.maitri.repository.BookingRepository.DoctorRevenue;
+import com.maitri.repository.BookingRepository.RevenueTotal;
+import com.maitri.repository.BookingRevenueDailyRepository;
+
+/**
+ * Revenue analytics over confirmed and completed bookings, computed as SQL aggregates.
+ * 
+ * Daily revenue can also be served from the booking_revenue_daily rollup: days touched by a
+ * status change are marked dirty and recomputed in the background, so dashboards read a few
+ * rows per day instead of scanning bookings.
+ */
+@Service
+public class BookingRevenueService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BookingRevenueService.class);
+    
+    private static final List<String> REVENUE_STATUSES = List.of("confirmed", "completed");
+    private static final int MAX_RANGE_DAYS = 366;
+    
+    @Autowired
+    private BookingRepository bookingRepository;
+    
+    @Autowired
+    private BookingRevenueDailyRepository revenueDailyRepository;
+    
+    @Value("${app.booking.revenue-rollup.enabled:true}")
+    private boolean rollupEnabled;
+    
+    // Appointment days whose rollup rows are stale
+    private final Set<LocalDate> dirtyDays = ConcurrentHashMap.newKeySet();
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    public BookingRevenueService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Revenue per doctor between two appointment dates (inclusive), highest first
+     */
+    public List<Map<String, Object>> getRevenueByDoctor(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<Map<String, Object>> doctors = new ArrayList<>();
+        for (DoctorRevenue row : bookingRepository.sumRevenueByDoctor(REVENUE_STATUSES, startOf(from), startOf(to.plusDays(1)))) {
+            Map<String, Object> doctor = toMap(row);
+            doctor.put("doctorId", row.getDoctorId());
+            doctor.put("doctorName", row.getDoctorName());
+            doctors.add(doctor);
+        }
+        return doctors;
+    }
+    
+    /**
+     * Revenue per appointment day between two dates (inclusive), from bookings or from the rollup
+     */
+    public List<Map<String, Object>> getRevenueByDay(LocalDate from, LocalDate to, boolean fromRollup) {
+        validateRange(from, to);
+        if (fromRollup && !rollupEnabled) {
+            throw new IllegalArgumentException("Revenue rollup is disabled");
+        }
+        
+        List<DailyRevenue> rows = fromRollup
+                ? revenueDailyRepository.sumByDay(from, to)
+                : bookingRepository.sumRevenueByDay(REVENUE_STATUSES, startOf(from), startOf(to.plusDays(1)));
+        
+        List<Map<String, Object>> days = new ArrayList<>();
+        for (DailyRevenue row : rows) {
+            Map<String, Object> day = toMap(row);
+            day.put("date", row.getDate());
+            days.add(day);
+        }
+        return days;
+    }
+    
+    /**
+     * Revenue per consultation type between two appointment dates (inclusive)
+     */
+    public List<Map<String, Object>> getRevenueByConsultationType(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<Map<String, Object>> types = new ArrayList<>();
+        for (ConsultationTypeRevenue row : bookingRepository.sumRevenueByConsultationType(
+                REVENUE_STATUSES, startOf(from), startOf(to.plusDays(1)))) {
+            Map<String, Object> type = toMap(row);
+            type.put("consultationType", row.getConsultationType());
+            types.add(type);
+        }
+        return types;
+    }
+    
+    /**
+     * Mark the booking's appointment day for a rollup refresh once the change has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent event) {
+        if (rollupEnabled && event.getDate() != null) {
+            dirtyDays.add(event.getDate());
+        }
+    }
+    
+    /**
+     * Recompute rollup rows for days changed since the last run
+     */
+    @Scheduled(fixedDelayString = "${app.booking.revenue-rollup.flush-interval-ms:60000}")
+    public void flushDirtyDays() {
+        if (!rollupEnabled || dirtyDays.isEmpty()) {
+            return;
+        }
+        
+        Set<LocalDate> days = new TreeSet<>(dirtyDays);
+        dirtyDays.removeAll(days);
+        try {
+            for (LocalDate day : days) {
+                rebuildRange(day, day);
+            }
+            logger.debug("Revenue rollup refreshed for {} day(s)", days.size());
+        } catch (Exception e) {
+            dirtyDays.addAll(days);
+            logger.error("❌ Failed to refresh revenue rollup: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Build the rollup from scratch when it is empty (first start after the table was added)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeRollup() {
+        if (!rollupEnabled || revenueDailyRepository.count() > 0) {
+            return;
+        }
+        
+        LocalDate earliest = bookingRepository.findEarliestBookingDate();
+        LocalDate latest = bookingRepository.findLatestBookingDate();
+        if (earliest == null || latest == null) {
+            return;
+        }
+        
+        int rows = rebuildRange(earliest, latest);
+        logger.info("📊 Revenue rollup built: {} row(s) for {} to {}", rows, earliest, latest);
+    }
+    
+    /**
+     * Recompute rollup rows for appointment days between two dates (inclusive); returns rows written
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (!rollupEnabled) {
+            throw new IllegalArgumentException("Revenue rollup is disabled");
+        }
+        validateRange(from, to);
+        return rebuildRange(from, to);
+    }
+    
+    private int rebuildRange(LocalDate from, LocalDate to) {
+        Integer rows = transactionTemplate.execute(status -> {
+            revenueDailyRepository.deleteByDateRange(from, to);
+            return revenueDailyRepository.insertAggregates(startOf(from), startOf(to.plusDays(1)));
+        });
+        return rows != null ? rows : 0;
+    }
+    
+    private static Instant startOf(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+    
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Revenue range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+    
+    private static Map<String, Object> toMap(RevenueTotal row) {
+        BigDecimal revenue = row.getRevenue() != null ? row.getRevenue() : BigDecimal.ZERO;
+        long bookings = row.getBookings() != null ? row.getBookings() : 0L;
+        
+        Map<String, Object> total = new LinkedHashMap<>();
+        total.put("currency", row.getCurrency());
+        total.put("bookings", bookings);
+        total.put("revenue", revenue);
+        total.put("averageFee", bookings > 0
+                ? revenue.divide(BigDecimal.valueOf(bookings), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+        return total;
+    }
+}
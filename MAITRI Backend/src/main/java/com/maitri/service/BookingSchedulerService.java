@@ -1,11 +1,16 @@
 package com.maitri.service;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.maitri.service.SlotHoldService.SlotHold;
+
 @Service
 public class BookingSchedulerService {
     
@@ -14,22 +19,69 @@ public class BookingSchedulerService {
     @Autowired
     private BookingService bookingService;
     
+    @Autowired
+    private BookingTimerService bookingTimerService;
+    
+    @Autowired
+    private BookingStatisticsService bookingStatisticsService;
+    
+    @Autowired
+    private SlotHoldService slotHoldService;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
     /**
-     * Automatically complete past confirmed appointments
-     * Runs every hour at the top of the hour
+     * Fallback sweep for past confirmed appointments and top-up of the completion timers.
+     * Bookings are normally completed by BookingTimerService right when they end; this
+     * only catches what the timers missed. Runs every hour at the top of the hour.
      */
     @Scheduled(cron = "0 0 * * * ?")
     public void autoCompleteBookings() {
         try {
             int completedCount = bookingService.autoCompleteBookings();
             if (completedCount > 0) {
-                logger.info("✅ Auto-completed {} past confirmed appointments", completedCount);
+                logger.info("✅ Auto-completed {} past confirmed appointments missed by timers", completedCount);
             }
+            bookingTimerService.reloadHorizon();
         } catch (Exception e) {
             logger.error("❌ Error during auto-completion of bookings: {}", e.getMessage(), e);
         }
     }
     
+    /**
+     * Re-sync the in-memory booking statistics with the database every 5 minutes
+     * (covers status changes made on other nodes)
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000)
+    public void resyncStatistics() {
+        try {
+            bookingStatisticsService.resync();
+        } catch (Exception e) {
+            logger.error("❌ Error re-syncing booking statistics: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Drop expired slot holds every minute and offer their slots to the next patient on the waitlist
+     * (e.g. when a promoted patient did not book in time)
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void purgeExpiredSlotHolds() {
+        try {
+            List<SlotHold> expired = slotHoldService.purgeExpired();
+            for (SlotHold hold : expired) {
+                bookingService.offerSlotToWaitlist(hold.slot());
+            }
+            if (!expired.isEmpty()) {
+                logger.debug("🧹 Purged {} expired slot holds", expired.size());
+            }
+            waitlistService.purgePastDays(LocalDate.now());
+        } catch (Exception e) {
+            logger.error("❌ Error purging expired slot holds: {}", e.getMessage(), e);
+        }
+    }
+    
     /**
      * Alternative method - run every 30 minutes for more frequent updates
      */
@@ -1,19 +1,46 @@
 package com.maitri.service;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.maitri.dto.BookingPage;
 import com.maitri.dto.BookingRequest;
 import com.maitri.dto.BookingResponse;
+import com.maitri.dto.BookingSeriesRequest;
+import com.maitri.dto.BookingSeriesResponse;
+import com.maitri.dto.BookingSeriesResponse.Conflict;
+import com.maitri.dto.DoctorResponse;
+import com.maitri.event.BookingStatusChangedEvent;
+import com.maitri.event.WaitlistPromotedEvent;
 import com.maitri.model.Booking;
 import com.maitri.repository.BookingRepository;
+import com.maitri.service.SlotHoldService.SlotHold;
+import com.maitri.service.SlotHoldService.SlotKey;
+import com.maitri.service.WaitlistService.WaitlistEntry;
 
 @Service
 @Transactional
@@ -22,23 +49,77 @@ public class BookingService {
     @Autowired
     private BookingRepository bookingRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private SlotHoldService slotHoldService;
+    
+    @Autowired
+    private DoctorScheduleService doctorScheduleService;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private BookingOutboxService bookingOutboxService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DoctorDirectoryService doctorDirectoryService;
+    
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    // First-page cursor for newest-first lists
+    private static final Instant FAR_FUTURE = Instant.parse("9999-12-31T00:00:00Z");
+    
+    // Recurring series limits: up to a year of weekly appointments, at most every 4 weeks
+    private static final int MAX_SERIES_OCCURRENCES = 52;
+    private static final int MAX_SERIES_INTERVAL_WEEKS = 4;
+    
+    private static final String INSERT_SERIES_BOOKING_SQL = "INSERT INTO bookings " +
+            "(doctor_id, doctor_name, patient_id, patient_name, patient_email, booking_date, booking_time, starts_at, " +
+            "consultation_type, symptoms, notes, status, price_amount, currency, series_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'pending', ?, ?, ?, ?)";
+    
+    // Length of a consultation; a booking is over this many minutes after its start time
+    @Value("${app.booking.appointment-minutes:30}")
+    private int appointmentMinutes;
+    
     /**
      * Create a new booking
      */
     public BookingResponse createBooking(BookingRequest request) {
+        // Resolve the doctor from the directory; the client-supplied name is not trusted
+        DoctorResponse doctor = resolveDoctor(request.getDoctorId());
+        if (request.getConsultationType() != null && !doctor.getConsultationTypes().contains(request.getConsultationType())) {
+            throw new RuntimeException(doctor.getName() + " does not offer " + request.getConsultationType() + " consultations");
+        }
+        if (!doctorScheduleService.isBookable(request.getDoctorId(), request.getDate(), request.getTime())) {
+            throw new RuntimeException(doctor.getName() + " is not available at " + request.getTime() + " on " + request.getDate());
+        }
+        
+        // Take (or reuse) this patient's hold so concurrent checkouts for the same slot are turned away early
+        SlotKey slot = new SlotKey(request.getDoctorId(), request.getDate(), request.getTime());
+        slotHoldService.hold(slot, request.getPatientId());
+        releaseHoldAfterCompletion(slot, request.getPatientId());
+        
         // Check if the time slot is already booked
         Optional<Booking> existingBooking = bookingRepository.findByDoctorIdAndDateAndTimeAndStatusNot(
             request.getDoctorId(), request.getDate(), request.getTime()
         );
         
         if (existingBooking.isPresent()) {
-            throw new RuntimeException("This time slot is already booked with Dr. " + request.getDoctorName());
+            throw new RuntimeException("This time slot is already booked with " + doctor.getName());
         }
         
         // Create new booking
         Booking booking = new Booking(
             request.getDoctorId(),
-            request.getDoctorName(),
+            doctor.getName(),
             request.getPatientId(),
             request.getPatientName(),
             request.getPatientEmail(),
@@ -48,73 +129,221 @@ public class BookingService {
             request.getSymptoms(),
             request.getNotes(),
             "pending",
-            request.getPrice()
+            doctor.getConsultationFee(),
+            doctor.getCurrency()
         );
         
         Booking savedBooking = bookingRepository.save(booking);
+        publishStatusChange(savedBooking, null);
+        waitlistService.removePatient(request.getDoctorId(), request.getDate(), request.getPatientId());
         return mapToBookingResponse(savedBooking);
     }
     
     /**
-     * Get all bookings for a patient
+     * Book a recurring series (same doctor and time every N weeks).
+     * All occurrences are checked against existing bookings with one query and the free ones are
+     * inserted in a single JDBC batch. Unless skipConflicts is set, any conflict rejects the whole
+     * series; the response has no seriesId when nothing was booked.
      */
-    public List<BookingResponse> getBookingsByPatientId(Long patientId) {
-        List<Booking> bookings = bookingRepository.findByPatientIdOrderByDateDescTimeDesc(patientId);
-        return bookings.stream()
+    public BookingSeriesResponse createSeries(BookingSeriesRequest request) {
+        DoctorResponse doctor = resolveDoctor(request.getDoctorId());
+        if (!doctor.getConsultationTypes().contains(request.getConsultationType())) {
+            throw new IllegalArgumentException(doctor.getName() + " does not offer " + request.getConsultationType() + " consultations");
+        }
+        int occurrences = request.getOccurrences();
+        if (occurrences < 2 || occurrences > MAX_SERIES_OCCURRENCES) {
+            throw new IllegalArgumentException("A series must have between 2 and " + MAX_SERIES_OCCURRENCES + " occurrences");
+        }
+        int intervalWeeks = request.getIntervalWeeks() != null ? request.getIntervalWeeks() : 1;
+        if (intervalWeeks < 1 || intervalWeeks > MAX_SERIES_INTERVAL_WEEKS) {
+            throw new IllegalArgumentException("intervalWeeks must be between 1 and " + MAX_SERIES_INTERVAL_WEEKS);
+        }
+        // The first occurrence's start time, not just its date: a time already gone today is in the past too
+        if (!Booking.toStartsAt(request.getStartDate(), request.getTime()).isAfter(Instant.now())) {
+            throw new IllegalArgumentException("A series cannot start in the past");
+        }
+        
+        List<LocalDate> dates = new ArrayList<>(occurrences);
+        List<Instant> starts = new ArrayList<>(occurrences);
+        for (int i = 0; i < occurrences; i++) {
+            LocalDate date = request.getStartDate().plusWeeks((long) i * intervalWeeks);
+            dates.add(date);
+            starts.add(Booking.toStartsAt(date, request.getTime()));
+        }
+        
+        // One query for every occurrence instead of one conflict check per booking
+        Set<Instant> taken = new HashSet<>(bookingRepository.findTakenStartsAt(request.getDoctorId(), starts));
+        
+        List<LocalDate> free = new ArrayList<>();
+        List<Conflict> conflicts = new ArrayList<>();
+        List<SlotKey> held = new ArrayList<>();
+        for (int i = 0; i < occurrences; i++) {
+            LocalDate date = dates.get(i);
+            SlotKey slot = new SlotKey(request.getDoctorId(), date, request.getTime());
+            if (!doctorScheduleService.isBookable(slot.doctorId(), date, slot.time())) {
+                conflicts.add(new Conflict(date, slot.time(), doctor.getName() + " is not available at this time"));
+            } else if (taken.contains(starts.get(i))) {
+                conflicts.add(new Conflict(date, slot.time(), "This time slot is already booked"));
+            } else {
+                try {
+                    slotHoldService.hold(slot, request.getPatientId());
+                    held.add(slot);
+                    free.add(date);
+                } catch (RuntimeException e) {
+                    conflicts.add(new Conflict(date, slot.time(), e.getMessage()));
+                }
+            }
+        }
+        releaseHoldsAfterCompletion(held, request.getPatientId());
+        
+        if (free.isEmpty() || (!conflicts.isEmpty() && !request.isSkipConflicts())) {
+            return new BookingSeriesResponse(null, List.of(), conflicts);
+        }
+        
+        String seriesId = UUID.randomUUID().toString();
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SERIES_BOOKING_SQL, free, free.size(), (ps, date) -> {
+            ps.setLong(1, request.getDoctorId());
+            ps.setString(2, doctor.getName());
+            ps.setLong(3, request.getPatientId());
+            ps.setString(4, request.getPatientName());
+            ps.setString(5, request.getPatientEmail());
+            ps.setObject(6, date);
+            ps.setObject(7, request.getTime());
+            ps.setTimestamp(8, Timestamp.from(Booking.toStartsAt(date, request.getTime())));
+            ps.setString(9, request.getConsultationType());
+            ps.setString(10, request.getSymptoms());
+            ps.setString(11, request.getNotes());
+            if (doctor.getConsultationFee() != null) {
+                ps.setBigDecimal(12, doctor.getConsultationFee());
+            } else {
+                ps.setNull(12, Types.NUMERIC);
+            }
+            ps.setString(13, doctor.getCurrency());
+            ps.setString(14, seriesId);
+            ps.setTimestamp(15, createdAt);
+        });
+        
+        List<Booking> bookings = bookingRepository.findBySeriesIdOrderByStartsAt(seriesId);
+        for (Booking booking : bookings) {
+            publishStatusChange(booking, null);
+            waitlistService.removePatient(booking.getDoctorId(), booking.getDate(), booking.getPatientId());
+        }
+        
+        return new BookingSeriesResponse(
+            seriesId,
+            bookings.stream().map(this::mapToBookingResponse).collect(Collectors.toList()),
+            conflicts
+        );
+    }
+    
+    /**
+     * Get all occurrences of a recurring series
+     */
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getSeries(String seriesId) {
+        return bookingRepository.findBySeriesIdOrderByStartsAt(seriesId).stream()
                 .map(this::mapToBookingResponse)
                 .collect(Collectors.toList());
     }
     
     /**
-     * Get upcoming bookings for a patient
+     * Hold a free slot for a patient while they complete the booking form
      */
-    public List<BookingResponse> getUpcomingBookingsByPatientId(Long patientId) {
-        LocalDate currentDate = LocalDate.now();
-        LocalTime currentTime = LocalTime.now();
+    public SlotHold holdSlot(Long doctorId, LocalDate date, LocalTime time, Long patientId) {
+        resolveDoctor(doctorId);
+        if (!doctorScheduleService.isBookable(doctorId, date, time)) {
+            throw new IllegalArgumentException("The doctor is not available at " + time + " on " + date);
+        }
+        if (bookingRepository.findByDoctorIdAndDateAndTimeAndStatusNot(doctorId, date, time).isPresent()) {
+            throw new RuntimeException("This time slot is already booked");
+        }
+        return slotHoldService.hold(new SlotKey(doctorId, date, time), patientId);
+    }
+    
+    /**
+     * Release a slot hold before it expires
+     */
+    public boolean releaseHold(String holdId, Long patientId) {
+        return slotHoldService.release(holdId, patientId);
+    }
+    
+    /**
+     * Get a page of all bookings for a patient (newest first)
+     */
+    public BookingPage getBookingsByPatientId(Long patientId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Cursor after = decodeCursor(cursor, FAR_FUTURE, Long.MAX_VALUE);
         
-        List<Booking> bookings = bookingRepository.findUpcomingBookingsByPatientId(
-            patientId, currentDate, currentTime
+        List<Booking> bookings = bookingRepository.findPatientPageDescending(
+            patientId, after.startsAt(), after.id(), pageSize + 1
         );
+        return toPage(bookings, pageSize);
+    }
+    
+    /**
+     * Get a page of upcoming bookings for a patient (soonest first)
+     */
+    public BookingPage getUpcomingBookingsByPatientId(Long patientId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Cursor after = decodeCursor(cursor, Instant.now(), Long.MAX_VALUE);
         
-        return bookings.stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+        List<Booking> bookings = bookingRepository.findActivePatientPageAscending(
+            patientId, after.startsAt(), after.id(), pageSize + 1
+        );
+        return toPage(bookings, pageSize);
     }
     
     /**
-     * Get past bookings for a patient
+     * Get a page of past bookings for a patient (most recent first)
      */
-    public List<BookingResponse> getPastBookingsByPatientId(Long patientId) {
-        LocalDate currentDate = LocalDate.now();
-        LocalTime currentTime = LocalTime.now();
+    public BookingPage getPastBookingsByPatientId(Long patientId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Cursor after = decodeCursor(cursor, Instant.now(), Long.MAX_VALUE);
         
-        List<Booking> bookings = bookingRepository.findPastBookingsByPatientId(
-            patientId, currentDate, currentTime
+        List<Booking> bookings = bookingRepository.findPatientPageDescending(
+            patientId, after.startsAt(), after.id(), pageSize + 1
         );
+        return toPage(bookings, pageSize);
+    }
+    
+    /**
+     * Get a page of all bookings for a doctor (newest first)
+     */
+    public BookingPage getBookingsByDoctorId(Long doctorId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Cursor after = decodeCursor(cursor, FAR_FUTURE, Long.MAX_VALUE);
         
-        return bookings.stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+        List<Booking> bookings = bookingRepository.findDoctorPageDescending(
+            doctorId, after.startsAt(), after.id(), pageSize + 1
+        );
+        return toPage(bookings, pageSize);
     }
     
     /**
-     * Get all bookings for a doctor
+     * Get a page of a doctor's agenda: non-cancelled bookings from the given day onwards (soonest first)
      */
-    public List<BookingResponse> getBookingsByDoctorId(Long doctorId) {
-        List<Booking> bookings = bookingRepository.findByDoctorIdOrderByDateDescTimeDesc(doctorId);
-        return bookings.stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+    public BookingPage getDoctorAgenda(Long doctorId, LocalDate fromDate, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Cursor after = decodeCursor(cursor, Booking.toStartsAt(fromDate, LocalTime.MIDNIGHT), 0L);
+        
+        List<Booking> bookings = bookingRepository.findActiveDoctorPageAscending(
+            doctorId, after.startsAt(), after.id(), pageSize + 1
+        );
+        return toPage(bookings, pageSize);
     }
     
     /**
-     * Get bookings by status (for admin/dashboard use)
+     * Get a page of bookings by status (for admin/dashboard use, newest first)
      */
-    public List<BookingResponse> getBookingsByStatus(String status) {
-        List<Booking> bookings = bookingRepository.findByStatusOrderByDateDescTimeDesc(status);
-        return bookings.stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+    public BookingPage getBookingsByStatus(String status, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Cursor after = decodeCursor(cursor, FAR_FUTURE, Long.MAX_VALUE);
+        
+        List<Booking> bookings = bookingRepository.findStatusPageDescending(
+            status, after.startsAt(), after.id(), pageSize + 1
+        );
+        return toPage(bookings, pageSize);
     }
     
     /**
@@ -148,6 +377,11 @@ public class BookingService {
         // Update status
         booking.setStatus(newStatus);
         Booking savedBooking = bookingRepository.save(booking);
+        publishStatusChange(savedBooking, oldStatus);
+        
+        if ("cancelled".equals(newStatus)) {
+            promoteNextWaiting(new SlotKey(savedBooking.getDoctorId(), savedBooking.getDate(), savedBooking.getTime()));
+        }
         
         return mapToBookingResponse(savedBooking);
     }
@@ -174,54 +408,86 @@ public class BookingService {
             throw new RuntimeException("Cannot cancel completed consultations");
         }
         
+        String oldStatus = booking.getStatus();
         booking.setStatus("cancelled");
         Booking cancelledBooking = bookingRepository.save(booking);
+        publishStatusChange(cancelledBooking, oldStatus);
+        
+        if (!"cancelled".equals(oldStatus)) {
+            promoteNextWaiting(new SlotKey(cancelledBooking.getDoctorId(), cancelledBooking.getDate(), cancelledBooking.getTime()));
+        }
         
         return mapToBookingResponse(cancelledBooking);
     }
     
+    /**
+     * Put a patient on a doctor's waitlist for a date (optionally for one specific time)
+     */
+    public WaitlistEntry joinWaitlist(Long doctorId, LocalDate date, LocalTime preferredTime, Long patientId) {
+        resolveDoctor(doctorId);
+        if (date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Cannot join the waitlist for a past date");
+        }
+        if (preferredTime != null && !doctorScheduleService.isBookable(doctorId, date, preferredTime)) {
+            throw new IllegalArgumentException("The doctor is not available at " + preferredTime + " on " + date);
+        }
+        if (doctorScheduleService.getSlots(doctorId, date).isEmpty()) {
+            throw new IllegalArgumentException("The doctor is not available on " + date);
+        }
+        return waitlistService.join(doctorId, date, preferredTime, patientId);
+    }
+    
+    /**
+     * Take a patient off a waitlist
+     */
+    public boolean leaveWaitlist(String entryId, Long patientId) {
+        return waitlistService.leave(entryId, patientId);
+    }
+    
+    /**
+     * Offer a slot whose hold expired to the next waiting patient, if it is still free
+     */
+    public void offerSlotToWaitlist(SlotKey slot) {
+        boolean booked = bookingRepository.findByDoctorIdAndDateAndTimeAndStatusNot(
+            slot.doctorId(), slot.date(), slot.time()
+        ).isPresent();
+        
+        if (!booked) {
+            promoteNextWaiting(slot);
+        }
+    }
+    
     /**
      * Get available time slots for a doctor on a specific date
      */
-    public List<LocalTime> getAvailableTimeSlots(Long doctorId, LocalDate date) {
-        // Generate all possible time slots (9 AM to 6 PM, 30-minute intervals)
-        List<LocalTime> allSlots = generateAllTimeSlots();
+    public List<LocalTime> getAvailableTimeSlots(Long doctorId, LocalDate date, Long patientId) {
+        resolveDoctor(doctorId);
+        
+        // Slots from the doctor's compiled schedule template (shared, immutable)
+        List<LocalTime> allSlots = doctorScheduleService.getSlots(doctorId, date);
+        if (allSlots.isEmpty()) {
+            return allSlots;
+        }
         
         // Get booked slots for this doctor on this date
-        List<Booking> bookedSlots = bookingRepository.findByDoctorIdAndDateBetween(
-            doctorId, date, date
+        List<Booking> bookedSlots = bookingRepository.findByDoctorIdAndStartsAtRange(
+            doctorId, Booking.toStartsAt(date, LocalTime.MIDNIGHT), Booking.toStartsAt(date.plusDays(1), LocalTime.MIDNIGHT)
         ).stream()
          .filter(booking -> !"cancelled".equals(booking.getStatus()))
          .collect(Collectors.toList());
         
-        // Remove booked slots from available slots
-        List<LocalTime> bookedTimes = bookedSlots.stream()
-                .map(Booking::getTime)
-                .collect(Collectors.toList());
+        // Remove booked slots, and slots other patients are currently checking out, from available slots
+        Set<LocalTime> bookedTimes = slotHoldService.getTimesHeldByOthers(doctorId, date, patientId);
+        bookedSlots.forEach(booking -> bookedTimes.add(booking.getTime()));
+        if (bookedTimes.isEmpty()) {
+            return allSlots;
+        }
         
         return allSlots.stream()
                 .filter(slot -> !bookedTimes.contains(slot))
                 .collect(Collectors.toList());
     }
     
-    /**
-     * Generate all possible time slots
-     */
-    private List<LocalTime> generateAllTimeSlots() {
-        return List.of(
-            LocalTime.of(9, 0), LocalTime.of(9, 30),
-            LocalTime.of(10, 0), LocalTime.of(10, 30),
-            LocalTime.of(11, 0), LocalTime.of(11, 30),
-            LocalTime.of(12, 0), LocalTime.of(12, 30),
-            LocalTime.of(13, 0), LocalTime.of(13, 30),
-            LocalTime.of(14, 0), LocalTime.of(14, 30),
-            LocalTime.of(15, 0), LocalTime.of(15, 30),
-            LocalTime.of(16, 0), LocalTime.of(16, 30),
-            LocalTime.of(17, 0), LocalTime.of(17, 30),
-            LocalTime.of(18, 0)
-        );
-    }
-    
     /**
      * Confirm a pending booking (for doctors/admin)
      */
@@ -247,6 +513,7 @@ public class BookingService {
         // Update status to confirmed
         booking.setStatus("confirmed");
         Booking savedBooking = bookingRepository.save(booking);
+        publishStatusChange(savedBooking, "pending");
         
         return mapToBookingResponse(savedBooking);
     }
@@ -276,35 +543,203 @@ public class BookingService {
         // Update status to completed
         booking.setStatus("completed");
         Booking savedBooking = bookingRepository.save(booking);
+        publishStatusChange(savedBooking, "confirmed");
         
         return mapToBookingResponse(savedBooking);
     }
     
     /**
-     * Automatically complete past confirmed appointments
+     * Automatically complete past confirmed appointments.
+     * Fallback sweep for anything the BookingTimerService missed (e.g. while the node was down).
      */
     public int autoCompleteBookings() {
-        LocalDate currentDate = LocalDate.now();
-        LocalTime currentTime = LocalTime.now();
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(appointmentMinutes));
         
-        // Find confirmed bookings that are in the past
-        List<Booking> pastConfirmedBookings = bookingRepository.findPastBookingsByStatus("confirmed", currentDate, currentTime);
+        // Find confirmed bookings that have already ended
+        List<Booking> pastConfirmedBookings = bookingRepository.findPastBookingsByStatus("confirmed", cutoff);
         
         int completedCount = 0;
         for (Booking booking : pastConfirmedBookings) {
             booking.setStatus("completed");
             bookingRepository.save(booking);
+            publishStatusChange(booking, "confirmed");
             completedCount++;
         }
         
         return completedCount;
     }
+    
+    /**
+     * Complete a single confirmed booking once its appointment has ended.
+     * Called by BookingTimerService when a timer fires; returns false if the
+     * booking was cancelled, already completed or rescheduled in the meantime.
+     */
+    public boolean completeIfDue(Long bookingId) {
+        Optional<Booking> optionalBooking = bookingRepository.findById(bookingId);
+        
+        if (optionalBooking.isEmpty()) {
+            return false;
+        }
+        
+        Booking booking = optionalBooking.get();
+        if (!"confirmed".equals(booking.getStatus()) || getAppointmentEnd(booking.getDate(), booking.getTime()).isAfter(LocalDateTime.now())) {
+            return false;
+        }
+        
+        booking.setStatus("completed");
+        bookingRepository.save(booking);
+        publishStatusChange(booking, "confirmed");
+        return true;
+    }
+    
+    /**
+     * Get confirmed bookings ending before the given horizon (used to load completion timers)
+     */
+    @Transactional(readOnly = true)
+    public List<Booking> getConfirmedBookingsEndingBefore(LocalDateTime horizon) {
+        LocalDateTime latestStart = horizon.minusMinutes(appointmentMinutes);
+        return bookingRepository.findPastBookingsByStatus(
+            "confirmed", Booking.toStartsAt(latestStart.toLocalDate(), latestStart.toLocalTime())
+        );
+    }
+    
+    /**
+     * When an appointment starting at the given date and time is over
+     */
+    public LocalDateTime getAppointmentEnd(LocalDate date, LocalTime time) {
+        return LocalDateTime.of(date, time).plusMinutes(appointmentMinutes);
+    }
+    
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+    
+    /**
+     * Turn one extra fetched row into hasMore/nextCursor
+     */
+    private BookingPage toPage(List<Booking> bookings, int pageSize) {
+        boolean hasMore = bookings.size() > pageSize;
+        List<Booking> pageRows = hasMore ? bookings.subList(0, pageSize) : bookings;
+        
+        List<BookingResponse> responses = pageRows.stream()
+                .map(this::mapToBookingResponse)
+                .collect(Collectors.toList());
+        String nextCursor = hasMore ? encodeCursor(pageRows.get(pageRows.size() - 1)) : null;
+        
+        return new BookingPage(responses, nextCursor, hasMore);
+    }
+    
+    /**
+     * Cursors are the (startsAt, id) of the last row of the previous page, base64url encoded
+     */
+    private String encodeCursor(Booking booking) {
+        String raw = booking.getStartsAt().toString() + "," + booking.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private Cursor decodeCursor(String cursor, Instant defaultStartsAt, long defaultId) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Cursor(defaultStartsAt, defaultId);
+        }
+        
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = raw.lastIndexOf(',');
+            return new Cursor(Instant.parse(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    private record Cursor(Instant startsAt, long id) {}
+    
+    /**
+     * Look up an active doctor in the in-memory directory
+     */
+    private DoctorResponse resolveDoctor(Long doctorId) {
+        return doctorDirectoryService.findActive(doctorId)
+                .orElseThrow(() -> new IllegalArgumentException("Doctor not found with id: " + doctorId));
+    }
+    
+    /**
+     * Hand a freed slot to the first waiting patient as a hold, within the current transaction.
+     * If the transaction rolls back the hold is dropped and the patient goes back to the head of the queue.
+     */
+    private void promoteNextWaiting(SlotKey slot) {
+        if (Booking.toStartsAt(slot.date(), slot.time()).isBefore(Instant.now())) {
+            return;
+        }
+        
+        Optional<WaitlistEntry> next = waitlistService.pollFor(slot);
+        if (next.isEmpty()) {
+            return;
+        }
+        
+        WaitlistEntry entry = next.get();
+        SlotHold hold;
+        try {
+            hold = slotHoldService.hold(slot, entry.patientId());
+        } catch (RuntimeException e) {
+            // Someone is already checking out this slot; keep the patient first in line
+            waitlistService.requeueFirst(entry);
+            return;
+        }
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        slotHoldService.releaseSlot(slot, entry.patientId());
+                        waitlistService.requeueFirst(entry);
+                    }
+                }
+            });
+        }
+        
+        eventPublisher.publishEvent(new WaitlistPromotedEvent(
+            entry.entryId(), hold.holdId(), entry.patientId(),
+            slot.doctorId(), slot.date(), slot.time(), hold.expiresAt()
+        ));
+    }
+    
+    /**
+     * Drop the patient's slot hold once the booking transaction commits or rolls back
+     */
+    private void releaseHoldAfterCompletion(SlotKey slot, Long patientId) {
+        releaseHoldsAfterCompletion(List.of(slot), patientId);
+    }
+    
+    private void releaseHoldsAfterCompletion(List<SlotKey> slots, Long patientId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            slots.forEach(slot -> slotHoldService.releaseSlot(slot, patientId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                slots.forEach(slot -> slotHoldService.releaseSlot(slot, patientId));
+            }
+        });
+    }
+    
+    /**
+     * Queue notifications in the outbox (same transaction) and let listeners
+     * (timers, statistics, ...) know about a status change
+     */
+    private void publishStatusChange(Booking booking, String previousStatus) {
+        bookingOutboxService.recordStatusChange(booking, previousStatus);
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(booking, previousStatus));
+    }
 
     /**
      * Map Booking entity to BookingResponse DTO
      */
     private BookingResponse mapToBookingResponse(Booking booking) {
-        return new BookingResponse(
+        BookingResponse response = new BookingResponse(
             booking.getId(),
             booking.getDoctorId(),
             booking.getDoctorName(),
@@ -317,9 +752,24 @@ public class BookingService {
             booking.getSymptoms(),
             booking.getNotes(),
             booking.getStatus(),
-            booking.getPrice(),
+            formatPrice(booking.getPriceAmount(), booking.getCurrency()),
+            booking.getPriceAmount(),
+            booking.getCurrency(),
             booking.getCreatedAt(),
             booking.getUpdatedAt()
         );
+        response.setSeriesId(booking.getSeriesId());
+        return response;
+    }
+    
+    /**
+     * Display form of a price, e.g. "₹800" (null when the booking has no price)
+     */
+    private static String formatPrice(BigDecimal amount, String currency) {
+        if (amount == null) {
+            return null;
+        }
+        String symbol = currency == null || "INR".equals(currency) ? "₹" : currency + " ";
+        return symbol + amount.stripTrailingZeros().toPlainString();
     }
-}
\ No newline at end of file
+}
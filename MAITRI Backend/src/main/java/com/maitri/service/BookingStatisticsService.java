@@ -0,0 +1,190 @@
+package com.maitri.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.maitri.event.BookingStatusChangedEvent;
+import com.maitri.repository.BookingRepository;
+import com.maitri.repository.BookingRepository.DailyStatusCount;
+import com.maitri.repository.BookingRepository.DoctorStatusCount;
+import com.maitri.repository.BookingRepository.StatusCount;
+
+/**
+ * Booking statistics for the admin dashboard.
+ * 
+ * Per-status totals are kept in memory and updated on every status change, so the
+ * dashboard never has to touch the bookings table. The snapshot is seeded from a
+ * GROUP BY query on startup and re-synced periodically to pick up changes made by
+ * other nodes. Per-doctor and per-day breakdowns are computed in SQL on demand.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookingStatisticsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatisticsService.class);
+    
+    private static final List<String> STATUSES = List.of("pending", "confirmed", "completed", "cancelled");
+    
+    @Autowired
+    private BookingRepository bookingRepository;
+    
+    // Replaced as a whole on resync, so readers never see a half-rebuilt snapshot
+    private volatile Map<String, LongAdder> countsByStatus = new ConcurrentHashMap<>();
+    
+    // Status changes applied while a resync query runs, replayed onto the fresh snapshot (null otherwise)
+    private Map<String, LongAdder> changesDuringResync;
+    
+    // Read lock: applying a change; write lock: starting or finishing a resync
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    
+    /**
+     * Seed the in-memory snapshot once the app is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        resync();
+    }
+    
+    /**
+     * Replace the in-memory snapshot with fresh counts from the database
+     */
+    public synchronized void resync() {
+        snapshotLock.writeLock().lock();
+        try {
+            changesDuringResync = new ConcurrentHashMap<>();
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+        
+        Map<String, LongAdder> fresh = new ConcurrentHashMap<>();
+        boolean queried = false;
+        try {
+            for (StatusCount row : bookingRepository.countGroupedByStatus()) {
+                counter(fresh, row.getStatus()).add(row.getCount());
+            }
+            for (String status : STATUSES) {
+                counter(fresh, status);
+            }
+            queried = true;
+        } finally {
+            snapshotLock.writeLock().lock();
+            try {
+                // Changes committed while the query ran are not in its counts: replay them, then publish
+                if (queried) {
+                    changesDuringResync.forEach((status, delta) -> counter(fresh, status).add(delta.sum()));
+                    countsByStatus = fresh;
+                }
+                changesDuringResync = null;
+            } finally {
+                snapshotLock.writeLock().unlock();
+            }
+        }
+        
+        logger.debug("Booking statistics re-synced: {}", fresh);
+    }
+    
+    /**
+     * Apply a committed status change to the snapshot
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent event) {
+        snapshotLock.readLock().lock();
+        try {
+            apply(countsByStatus, event);
+            Map<String, LongAdder> changes = changesDuringResync;
+            if (changes != null) {
+                apply(changes, event);
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Current number of bookings per status plus "total"
+     */
+    public Map<String, Long> getStatusCounts() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        long total = 0;
+        
+        for (Map.Entry<String, LongAdder> entry : countsByStatus.entrySet()) {
+            long count = entry.getValue().sum();
+            stats.put(entry.getKey(), count);
+            total += count;
+        }
+        
+        stats.put("total", total);
+        return stats;
+    }
+    
+    /**
+     * Bookings per doctor, broken down by status
+     */
+    public List<Map<String, Object>> getDoctorBreakdown() {
+        Map<Long, Map<String, Object>> byDoctor = new LinkedHashMap<>();
+        
+        for (DoctorStatusCount row : bookingRepository.countGroupedByDoctorAndStatus()) {
+            Map<String, Object> doctor = byDoctor.computeIfAbsent(row.getDoctorId(), id -> newBreakdown("doctorId", id));
+            doctor.put("doctorName", row.getDoctorName());
+            addToBreakdown(doctor, row.getStatus(), row.getCount());
+        }
+        
+        return new ArrayList<>(byDoctor.values());
+    }
+    
+    /**
+     * Bookings per appointment day within [startDate, endDate], broken down by status
+     */
+    public List<Map<String, Object>> getDailyBreakdown(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, Map<String, Object>> byDate = new LinkedHashMap<>();
+        
+        for (DailyStatusCount row : bookingRepository.countGroupedByDateAndStatus(startDate, endDate)) {
+            Map<String, Object> day = byDate.computeIfAbsent(row.getDate(), date -> newBreakdown("date", date));
+            addToBreakdown(day, row.getStatus(), row.getCount());
+        }
+        
+        return new ArrayList<>(byDate.values());
+    }
+    
+    private static void apply(Map<String, LongAdder> counts, BookingStatusChangedEvent event) {
+        if (event.getPreviousStatus() != null) {
+            counter(counts, event.getPreviousStatus()).decrement();
+        }
+        counter(counts, event.getNewStatus()).increment();
+    }
+    
+    private static LongAdder counter(Map<String, LongAdder> counts, String status) {
+        return counts.computeIfAbsent(status, s -> new LongAdder());
+    }
+    
+    private Map<String, Object> newBreakdown(String keyName, Object key) {
+        Map<String, Object> breakdown = new LinkedHashMap<>();
+        breakdown.put(keyName, key);
+        for (String status : STATUSES) {
+            breakdown.put(status, 0L);
+        }
+        breakdown.put("total", 0L);
+        return breakdown;
+    }
+    
+    private void addToBreakdown(Map<String, Object> breakdown, String status, Long count) {
+        breakdown.merge(status, count, (a, b) -> (Long) a + (Long) b);
+        breakdown.merge("total", count, (a, b) -> (Long) a + (Long) b);
+    }
+}
@@ -0,0 +1,178 @@
+package com.maitri.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.maitri.event.BookingStatusChangedEvent;
+import com.maitri.model.Booking;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Completes confirmed bookings close to the moment their appointment ends.
+ * 
+ * Upcoming end times are kept in an in-memory delay queue that is loaded from the
+ * database on startup and topped up by BookingSchedulerService. Only bookings ending
+ * within the look-ahead horizon are held in memory; anything missed (node restarts,
+ * clock jumps) is picked up by the hourly fallback sweep.
+ */
+@Service
+public class BookingTimerService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BookingTimerService.class);
+    
+    @Autowired
+    private BookingService bookingService;
+    
+    // How far ahead timers are loaded into memory
+    @Value("${app.booking.timer-horizon-hours:24}")
+    private int horizonHours;
+    
+    private final DelayQueue<CompletionTimer> queue = new DelayQueue<>();
+    
+    // Latest timer per booking; a fired timer that no longer matches is stale and ignored
+    private final Map<Long, CompletionTimer> timersByBooking = new ConcurrentHashMap<>();
+    
+    private volatile Thread worker;
+    
+    /**
+     * Load timers from the database and start firing them once the app is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int loaded = reloadHorizon();
+        logger.info("⏰ Booking timer started with {} pending completion(s)", loaded);
+        
+        worker = new Thread(this::runLoop, "booking-timer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        worker = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+    
+    /**
+     * (Re)load all confirmed bookings ending within the horizon.
+     * Safe to call repeatedly - timers for the same booking and end time are deduplicated.
+     */
+    public int reloadHorizon() {
+        LocalDateTime horizon = LocalDateTime.now().plusHours(horizonHours);
+        List<Booking> bookings = bookingService.getConfirmedBookingsEndingBefore(horizon);
+        
+        for (Booking booking : bookings) {
+            schedule(booking.getId(), bookingService.getAppointmentEnd(booking.getDate(), booking.getTime()));
+        }
+        return bookings.size();
+    }
+    
+    /**
+     * Keep timers in step with booking status changes once they are committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent event) {
+        if ("confirmed".equals(event.getNewStatus())) {
+            LocalDateTime end = bookingService.getAppointmentEnd(event.getDate(), event.getTime());
+            if (end.isBefore(LocalDateTime.now().plusHours(horizonHours))) {
+                schedule(event.getBookingId(), end);
+            }
+        } else {
+            CompletionTimer removed = timersByBooking.remove(event.getBookingId());
+            if (removed != null) {
+                queue.remove(removed);
+            }
+        }
+    }
+    
+    /**
+     * Number of completion timers currently held in memory
+     */
+    public int getPendingCount() {
+        return timersByBooking.size();
+    }
+    
+    private void schedule(Long bookingId, LocalDateTime dueAt) {
+        long dueMillis = dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        
+        CompletionTimer existing = timersByBooking.get(bookingId);
+        if (existing != null && existing.dueMillis == dueMillis) {
+            return;
+        }
+        
+        CompletionTimer timer = new CompletionTimer(bookingId, dueMillis);
+        CompletionTimer previous = timersByBooking.put(bookingId, timer);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.put(timer);
+    }
+    
+    private void runLoop() {
+        while (worker != null) {
+            try {
+                CompletionTimer timer = queue.take();
+                
+                // Skip timers that were replaced or cancelled after being queued
+                if (!timersByBooking.remove(timer.bookingId, timer)) {
+                    continue;
+                }
+                
+                if (bookingService.completeIfDue(timer.bookingId)) {
+                    logger.info("✅ Auto-completed booking {} at end of appointment", timer.bookingId);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("❌ Error firing booking timer: {}", e.getMessage(), e);
+            }
+        }
+    }
+    
+    /**
+     * A single "complete this booking at dueMillis" entry in the delay queue
+     */
+    private static final class CompletionTimer implements Delayed {
+        
+        private final Long bookingId;
+        private final long dueMillis;
+        
+        private CompletionTimer(Long bookingId, long dueMillis) {
+            this.bookingId = bookingId;
+            this.dueMillis = dueMillis;
+        }
+        
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+        
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof CompletionTimer timer) {
+                return Long.compare(dueMillis, timer.dueMillis);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.maitri.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.maitri.dto.DoctorRequest;
+import com.maitri.dto.DoctorResponse;
+import com.maitri.model.Doctor;
+import com.maitri.repository.DoctorRepository;
+
+/**
+ * Doctor directory.
+ * 
+ * The whole (small, read-mostly) doctors table is held in memory as an immutable snapshot
+ * indexed by id, specialization, location and language, so lookups during booking and
+ * search never hit the database. The snapshot is rebuilt after every local change and
+ * periodically to pick up edits made on other nodes.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DoctorDirectoryService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DoctorDirectoryService.class);
+    
+    private static final List<String> CONSULTATION_TYPES = List.of("video", "in-person");
+    
+    @Autowired
+    private DoctorRepository doctorRepository;
+    
+    private volatile Directory directory = Directory.of(List.of());
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        refresh();
+    }
+    
+    /**
+     * Rebuild the in-memory directory from the database
+     */
+    @Scheduled(fixedDelay = 600000, initialDelay = 600000)
+    public void refresh() {
+        List<Doctor> doctors = doctorRepository.findAllWithDetails();
+        directory = Directory.of(doctors);
+        logger.debug("🩺 Doctor directory refreshed with {} doctors", doctors.size());
+    }
+    
+    /**
+     * Find a doctor by id (including inactive doctors, e.g. for past bookings)
+     */
+    public Optional<DoctorResponse> findById(Long doctorId) {
+        return Optional.ofNullable(directory.byId().get(doctorId));
+    }
+    
+    /**
+     * Find a doctor who is currently accepting bookings
+     */
+    public Optional<DoctorResponse> findActive(Long doctorId) {
+        return findById(doctorId).filter(DoctorResponse::isActive);
+    }
+    
+    /**
+     * Search active doctors; every filter is optional and case-insensitive
+     */
+    public List<DoctorResponse> search(String specialization, String location, String language, String consultationType) {
+        Directory current = directory;
+        
+        // Start from the narrowest index that applies, then filter by the remaining criteria
+        List<DoctorResponse> candidates = current.active();
+        candidates = narrow(candidates, current.bySpecialization(), specialization);
+        candidates = narrow(candidates, current.byLocation(), location);
+        candidates = narrow(candidates, current.byLanguage(), language);
+        
+        List<DoctorResponse> results = new ArrayList<>();
+        for (DoctorResponse doctor : candidates) {
+            if (doctor.isActive()
+                    && matches(doctor.getSpecialization(), specialization)
+                    && matches(doctor.getLocation(), location)
+                    && (isBlank(language) || containsIgnoreCase(doctor.getLanguages(), language))
+                    && (isBlank(consultationType) || containsIgnoreCase(doctor.getConsultationTypes(), consultationType))) {
+                results.add(doctor);
+            }
+        }
+        return results;
+    }
+    
+    public List<String> getSpecializations() {
+        return directory.specializations();
+    }
+    
+    public List<String> getLocations() {
+        return directory.locations();
+    }
+    
+    /**
+     * Add a doctor to the directory
+     */
+    @Transactional
+    public DoctorResponse createDoctor(DoctorRequest request) {
+        Doctor doctor = new Doctor();
+        applyRequest(doctor, request);
+        Doctor saved = doctorRepository.save(doctor);
+        refreshAfterCommit();
+        return new DoctorResponse(saved);
+    }
+    
+    /**
+     * Update a doctor's profile (fields left null are unchanged)
+     */
+    @Transactional
+    public DoctorResponse updateDoctor(Long doctorId, DoctorRequest request) {
+        Doctor doctor = doctorRepository.findById(doctorId)
+                .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + doctorId));
+        applyRequest(doctor, request);
+        Doctor saved = doctorRepository.save(doctor);
+        refreshAfterCommit();
+        return new DoctorResponse(saved);
+    }
+    
+    /**
+     * Save a batch of doctors (used to seed an empty directory)
+     */
+    @Transactional
+    public int createDoctors(List<DoctorRequest> requests) {
+        List<Doctor> doctors = new ArrayList<>();
+        for (DoctorRequest request : requests) {
+            Doctor doctor = new Doctor();
+            applyRequest(doctor, request);
+            doctors.add(doctor);
+        }
+        doctorRepository.saveAll(doctors);
+        refreshAfterCommit();
+        return doctors.size();
+    }
+    
+    public long countDoctors() {
+        return doctorRepository.count();
+    }
+    
+    private void applyRequest(Doctor doctor, DoctorRequest request) {
+        if (doctor.getId() == null && (isBlank(request.getName()) || isBlank(request.getSpecialization()))) {
+            throw new IllegalArgumentException("Doctor name and specialization are required");
+        }
+        if (request.getConsultationTypes() != null && !CONSULTATION_TYPES.containsAll(request.getConsultationTypes())) {
+            throw new IllegalArgumentException("Consultation types must be among " + CONSULTATION_TYPES);
+        }
+        
+        if (request.getName() != null) {
+            doctor.setName(request.getName().trim());
+        }
+        if (request.getSpecialization() != null) {
+            doctor.setSpecialization(request.getSpecialization().trim());
+        }
+        if (request.getLocation() != null) {
+            doctor.setLocation(request.getLocation().trim());
+        }
+        if (request.getExperienceYears() != null) {
+            doctor.setExperienceYears(request.getExperienceYears());
+        }
+        if (request.getRating() != null) {
+            doctor.setRating(request.getRating());
+        }
+        if (request.getConsultationFee() != null) {
+            doctor.setConsultationFee(request.getConsultationFee());
+        }
+        if (request.getCurrency() != null) {
+            doctor.setCurrency(request.getCurrency().toUpperCase(Locale.ROOT));
+        }
+        if (request.getLanguages() != null) {
+            doctor.setLanguages(new LinkedHashSet<>(request.getLanguages()));
+        }
+        if (request.getImageUrl() != null) {
+            doctor.setImageUrl(request.getImageUrl());
+        }
+        if (request.getEducation() != null) {
+            doctor.setEducation(request.getEducation());
+        }
+        if (request.getAbout() != null) {
+            doctor.setAbout(request.getAbout());
+        }
+        if (request.getActive() != null) {
+            doctor.setActive(request.getActive());
+        }
+        
+        if (request.getConsultationTypes() != null) {
+            doctor.setConsultationTypes(new LinkedHashSet<>(request.getConsultationTypes()));
+        } else if (doctor.getConsultationTypes().isEmpty()) {
+            doctor.setConsultationTypes(new LinkedHashSet<>(CONSULTATION_TYPES));
+        }
+        if (doctor.getCurrency() == null) {
+            doctor.setCurrency("INR");
+        }
+    }
+    
+    private void refreshAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+    }
+    
+    private static List<DoctorResponse> narrow(List<DoctorResponse> candidates, Map<String, List<DoctorResponse>> index, String value) {
+        if (isBlank(value)) {
+            return candidates;
+        }
+        List<DoctorResponse> indexed = index.getOrDefault(key(value), List.of());
+        return indexed.size() < candidates.size() ? indexed : candidates;
+    }
+    
+    private static boolean matches(String actual, String wanted) {
+        return isBlank(wanted) || (actual != null && actual.equalsIgnoreCase(wanted.trim()));
+    }
+    
+    private static boolean containsIgnoreCase(List<String> values, String wanted) {
+        for (String value : values) {
+            if (value.equalsIgnoreCase(wanted.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+    
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Immutable snapshot of the directory with its lookup indexes
+     */
+    private record Directory(Map<Long, DoctorResponse> byId,
+                             List<DoctorResponse> active,
+                             Map<String, List<DoctorResponse>> bySpecialization,
+                             Map<String, List<DoctorResponse>> byLocation,
+                             Map<String, List<DoctorResponse>> byLanguage,
+                             List<String> specializations,
+                             List<String> locations) {
+        
+        static Directory of(List<Doctor> doctors) {
+            Map<Long, DoctorResponse> byId = new LinkedHashMap<>();
+            List<DoctorResponse> active = new ArrayList<>();
+            Map<String, List<DoctorResponse>> bySpecialization = new HashMap<>();
+            Map<String, List<DoctorResponse>> byLocation = new HashMap<>();
+            Map<String, List<DoctorResponse>> byLanguage = new HashMap<>();
+            TreeSet<String> specializations = new TreeSet<>();
+            TreeSet<String> locations = new TreeSet<>();
+            
+            for (Doctor doctor : doctors) {
+                DoctorResponse response = new DoctorResponse(doctor);
+                byId.put(doctor.getId(), response);
+                if (!doctor.isActive()) {
+                    continue;
+                }
+                active.add(response);
+                bySpecialization.computeIfAbsent(key(doctor.getSpecialization()), k -> new ArrayList<>()).add(response);
+                specializations.add(doctor.getSpecialization());
+                if (doctor.getLocation() != null) {
+                    byLocation.computeIfAbsent(key(doctor.getLocation()), k -> new ArrayList<>()).add(response);
+                    locations.add(doctor.getLocation());
+                }
+                for (String language : doctor.getLanguages()) {
+                    byLanguage.computeIfAbsent(key(language), k -> new ArrayList<>()).add(response);
+                }
+            }
+            
+            return new Directory(Collections.unmodifiableMap(byId), List.copyOf(active),
+                                 freeze(bySpecialization), freeze(byLocation), freeze(byLanguage),
+                                 List.copyOf(specializations), List.copyOf(locations));
+        }
+        
+        private static Map<String, List<DoctorResponse>> freeze(Map<String, List<DoctorResponse>> index) {
+            Map<String, List<DoctorResponse>> frozen = new HashMap<>();
+            index.forEach((key, list) -> frozen.put(key, List.copyOf(list)));
+            return Map.copyOf(frozen);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.maitri.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.maitri.dto.ScheduleDayRequest;
+import com.maitri.dto.ScheduleExceptionRequest;
+import com.maitri.model.DoctorScheduleDay;
+import com.maitri.model.DoctorScheduleException;
+import com.maitri.repository.DoctorScheduleDayRepository;
+import com.maitri.repository.DoctorScheduleExceptionRepository;
+
+/**
+ * Per-doctor weekly schedule templates and date exceptions.
+ * 
+ * Each doctor's template is compiled once into immutable, sorted slot lists (one per weekday
+ * plus one per exception date) and cached until the template or its exceptions are edited,
+ * so availability and booking validation only do map lookups and a binary search.
+ */
+@Service
+@Transactional
+public class DoctorScheduleService {
+    
+    @Autowired
+    private DoctorScheduleDayRepository scheduleDayRepository;
+    
+    @Autowired
+    private DoctorScheduleExceptionRepository scheduleExceptionRepository;
+    
+    // Used for doctors without a template: every day 9:00 to 18:00 (last slot), 30-minute slots
+    private static final LocalTime DEFAULT_START = LocalTime.of(9, 0);
+    private static final LocalTime DEFAULT_END = LocalTime.of(18, 30);
+    private static final int DEFAULT_SLOT_MINUTES = 30;
+    
+    private static final int MIN_SLOT_MINUTES = 5;
+    private static final int MAX_SLOT_MINUTES = 240;
+    
+    private static final CompiledSchedule DEFAULT_SCHEDULE = compileDefault();
+    
+    private final Map<Long, CompiledSchedule> compiledSchedules = new ConcurrentHashMap<>();
+    
+    /**
+     * Bookable slot start times for a doctor on a date (immutable, sorted)
+     */
+    @Transactional(readOnly = true)
+    public List<LocalTime> getSlots(Long doctorId, LocalDate date) {
+        return compiledSchedule(doctorId).slotsOn(date);
+    }
+    
+    /**
+     * Whether the doctor's schedule has a slot starting at this time on this date
+     */
+    @Transactional(readOnly = true)
+    public boolean isBookable(Long doctorId, LocalDate date, LocalTime time) {
+        return Collections.binarySearch(getSlots(doctorId, date), time) >= 0;
+    }
+    
+    /**
+     * Get a doctor's weekly schedule template (empty when the default schedule applies)
+     */
+    @Transactional(readOnly = true)
+    public List<DoctorScheduleDay> getWeeklyTemplate(Long doctorId) {
+        List<DoctorScheduleDay> days = new ArrayList<>(scheduleDayRepository.findByDoctorId(doctorId));
+        days.sort(Comparator.comparing(DoctorScheduleDay::getDayOfWeek));
+        return days;
+    }
+    
+    /**
+     * Replace a doctor's weekly schedule template. An empty list reverts to the default schedule.
+     */
+    public List<DoctorScheduleDay> replaceWeeklyTemplate(Long doctorId, List<ScheduleDayRequest> requests) {
+        Set<DayOfWeek> seenDays = new HashSet<>();
+        List<DoctorScheduleDay> days = new ArrayList<>();
+        
+        for (ScheduleDayRequest request : requests) {
+            if (request.getDayOfWeek() == null) {
+                throw new IllegalArgumentException("Day of week is required");
+            }
+            if (!seenDays.add(request.getDayOfWeek())) {
+                throw new IllegalArgumentException("Duplicate schedule for " + request.getDayOfWeek());
+            }
+            int slotMinutes = request.getSlotMinutes() != null ? request.getSlotMinutes() : DEFAULT_SLOT_MINUTES;
+            validateHours(request.getStartTime(), request.getEndTime(), slotMinutes,
+                          request.getBreakStart(), request.getBreakEnd());
+            
+            days.add(new DoctorScheduleDay(doctorId, request.getDayOfWeek(), request.getStartTime(),
+                                           request.getEndTime(), slotMinutes,
+                                           request.getBreakStart(), request.getBreakEnd()));
+        }
+        
+        scheduleDayRepository.deleteByDoctorId(doctorId);
+        List<DoctorScheduleDay> saved = scheduleDayRepository.saveAll(days);
+        invalidate(doctorId);
+        
+        saved.sort(Comparator.comparing(DoctorScheduleDay::getDayOfWeek));
+        return saved;
+    }
+    
+    /**
+     * Get a doctor's schedule exceptions from a date onwards
+     */
+    @Transactional(readOnly = true)
+    public List<DoctorScheduleException> getExceptions(Long doctorId, LocalDate fromDate) {
+        return scheduleExceptionRepository.findByDoctorIdAndDateGreaterThanEqualOrderByDate(doctorId, fromDate);
+    }
+    
+    /**
+     * Add a day off or custom hours for a specific date
+     */
+    public DoctorScheduleException addException(Long doctorId, ScheduleExceptionRequest request) {
+        if (request.getDate() == null) {
+            throw new IllegalArgumentException("Date is required");
+        }
+        if ((request.getStartTime() == null) != (request.getEndTime() == null)) {
+            throw new IllegalArgumentException("Provide both start and end time, or neither for a day off");
+        }
+        if (request.getStartTime() != null) {
+            validateHours(request.getStartTime(), request.getEndTime(), DEFAULT_SLOT_MINUTES, null, null);
+        }
+        
+        DoctorScheduleException exception = scheduleExceptionRepository.save(new DoctorScheduleException(
+            doctorId, request.getDate(), request.getStartTime(), request.getEndTime(), request.getReason()
+        ));
+        invalidate(doctorId);
+        return exception;
+    }
+    
+    /**
+     * Remove a schedule exception
+     */
+    public void removeException(Long doctorId, Long exceptionId) {
+        DoctorScheduleException exception = scheduleExceptionRepository.findById(exceptionId)
+                .filter(e -> e.getDoctorId().equals(doctorId))
+                .orElseThrow(() -> new RuntimeException("Schedule exception not found with id: " + exceptionId));
+        
+        scheduleExceptionRepository.delete(exception);
+        invalidate(doctorId);
+    }
+    
+    /**
+     * Compiled outside the map's lock: the repository queries must not run inside computeIfAbsent,
+     * where they would block other doctors in the same bin. Two first reads may both compile;
+     * the first one cached wins.
+     */
+    private CompiledSchedule compiledSchedule(Long doctorId) {
+        CompiledSchedule cached = compiledSchedules.get(doctorId);
+        if (cached != null) {
+            return cached;
+        }
+        CompiledSchedule compiled = compile(doctorId);
+        CompiledSchedule raced = compiledSchedules.putIfAbsent(doctorId, compiled);
+        return raced != null ? raced : compiled;
+    }
+    
+    /**
+     * Drop the cached compilation now and again once the edit commits,
+     * so a read racing the transaction cannot keep the old schedule cached
+     */
+    private void invalidate(Long doctorId) {
+        compiledSchedules.remove(doctorId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    compiledSchedules.remove(doctorId);
+                }
+            });
+        }
+    }
+    
+    private CompiledSchedule compile(Long doctorId) {
+        List<DoctorScheduleDay> days = scheduleDayRepository.findByDoctorId(doctorId);
+        List<DoctorScheduleException> exceptions = scheduleExceptionRepository
+                .findByDoctorIdAndDateGreaterThanEqualOrderByDate(doctorId, LocalDate.now().minusDays(1));
+        
+        if (days.isEmpty() && exceptions.isEmpty()) {
+            return DEFAULT_SCHEDULE;
+        }
+        
+        Map<DayOfWeek, DoctorScheduleDay> daysByWeekday = new EnumMap<>(DayOfWeek.class);
+        days.forEach(day -> daysByWeekday.put(day.getDayOfWeek(), day));
+        
+        Map<DayOfWeek, List<LocalTime>> weekly = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            DoctorScheduleDay day = daysByWeekday.get(dayOfWeek);
+            if (days.isEmpty()) {
+                weekly.put(dayOfWeek, DEFAULT_SCHEDULE.slotsOn(dayOfWeek));
+            } else if (day == null) {
+                weekly.put(dayOfWeek, List.of());
+            } else {
+                weekly.put(dayOfWeek, buildSlots(day.getStartTime(), day.getEndTime(), day.getSlotMinutes(),
+                                                 day.getBreakStart(), day.getBreakEnd()));
+            }
+        }
+        
+        Map<LocalDate, List<LocalTime>> byDate = new HashMap<>();
+        for (DoctorScheduleException exception : exceptions) {
+            if (exception.isDayOff()) {
+                byDate.put(exception.getDate(), List.of());
+                continue;
+            }
+            // Custom hours keep that weekday's slot length and break
+            DoctorScheduleDay day = daysByWeekday.get(exception.getDate().getDayOfWeek());
+            int slotMinutes = day != null ? day.getSlotMinutes() : DEFAULT_SLOT_MINUTES;
+            byDate.put(exception.getDate(), buildSlots(
+                exception.getStartTime(), exception.getEndTime(), slotMinutes,
+                day != null ? day.getBreakStart() : null, day != null ? day.getBreakEnd() : null
+            ));
+        }
+        
+        return new CompiledSchedule(weekly, Map.copyOf(byDate));
+    }
+    
+    private static CompiledSchedule compileDefault() {
+        List<LocalTime> slots = buildSlots(DEFAULT_START, DEFAULT_END, DEFAULT_SLOT_MINUTES, null, null);
+        Map<DayOfWeek, List<LocalTime>> weekly = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            weekly.put(dayOfWeek, slots);
+        }
+        return new CompiledSchedule(weekly, Map.of());
+    }
+    
+    /**
+     * Slot start times between start and end (the last slot ends by end), skipping over the break
+     */
+    private static List<LocalTime> buildSlots(LocalTime start, LocalTime end, int slotMinutes,
+                                              LocalTime breakStart, LocalTime breakEnd) {
+        int endMinute = end.toSecondOfDay() / 60;
+        int breakStartMinute = breakStart != null ? breakStart.toSecondOfDay() / 60 : -1;
+        int breakEndMinute = breakEnd != null ? breakEnd.toSecondOfDay() / 60 : -1;
+        
+        List<LocalTime> slots = new ArrayList<>();
+        int minute = start.toSecondOfDay() / 60;
+        while (minute + slotMinutes <= endMinute) {
+            if (minute < breakEndMinute && minute + slotMinutes > breakStartMinute) {
+                // Resume right after the break
+                minute = breakEndMinute;
+                continue;
+            }
+            slots.add(LocalTime.of(minute / 60, minute % 60));
+            minute += slotMinutes;
+        }
+        return List.copyOf(slots);
+    }
+    
+    private static void validateHours(LocalTime start, LocalTime end, int slotMinutes,
+                                      LocalTime breakStart, LocalTime breakEnd) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start and end time are required");
+        }
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        if (slotMinutes < MIN_SLOT_MINUTES || slotMinutes > MAX_SLOT_MINUTES) {
+            throw new IllegalArgumentException("Slot length must be between " + MIN_SLOT_MINUTES + " and " + MAX_SLOT_MINUTES + " minutes");
+        }
+        if ((breakStart == null) != (breakEnd == null)) {
+            throw new IllegalArgumentException("Provide both break start and break end, or neither");
+        }
+        if (breakStart != null && (!breakStart.isBefore(breakEnd) || breakStart.isBefore(start) || breakEnd.isAfter(end))) {
+            throw new IllegalArgumentException("Break must fall within working hours");
+        }
+    }
+    
+    /**
+     * A doctor's schedule compiled into immutable sorted slot lists
+     */
+    private record CompiledSchedule(Map<DayOfWeek, List<LocalTime>> weekly, Map<LocalDate, List<LocalTime>> exceptions) {
+        
+        List<LocalTime> slotsOn(LocalDate date) {
+            List<LocalTime> override = exceptions.get(date);
+            return override != null ? override : weekly.get(date.getDayOfWeek());
+        }
+        
+        List<LocalTime> slotsOn(DayOfWeek dayOfWeek) {
+            return weekly.get(dayOfWeek);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.maitri.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maitri.dto.DoctorRequest;
+
+/**
+ * Seeds an empty doctor directory from data/doctors.json (the doctors the frontend has always listed).
+ * On a fresh table the generated ids follow the file order, matching the frontend's doctor ids.
+ */
+@Service
+public class DoctorSeedService implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DoctorSeedService.class);
+    
+    private static final String SEED_FILE = "data/doctors.json";
+    
+    @Autowired
+    private DoctorDirectoryService doctorDirectoryService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (doctorDirectoryService.countDoctors() > 0) {
+            return;
+        }
+        
+        try (InputStream in = new ClassPathResource(SEED_FILE).getInputStream()) {
+            List<DoctorRequest> doctors = objectMapper.readValue(in, new TypeReference<List<DoctorRequest>>() {});
+            int created = doctorDirectoryService.createDoctors(doctors);
+            logger.info("🩺 Seeded doctor directory with {} doctors", created);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.maitri.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.maitri.model.BookingOutboxEvent;
+
+/**
+ * Test notifier: appends one tab-separated line per notification to a local file
+ */
+@Service
+@ConditionalOnProperty(name = "app.booking.notifier", havingValue = "file")
+public class FileBookingNotifier implements BookingNotifier {
+    
+    private final Path file;
+    
+    public FileBookingNotifier(@Value("${app.booking.notifier.file:booking-notifications.log}") String file) {
+        this.file = Paths.get(file);
+    }
+    
+    @Override
+    public synchronized void send(BookingOutboxEvent event) throws IOException {
+        String line = String.join("\t",
+            Instant.now().toString(),
+            String.valueOf(event.getId()),
+            event.getEventType(),
+            String.valueOf(event.getBookingId()),
+            event.getRecipientEmail(),
+            event.getDoctorName(),
+            String.valueOf(event.getAppointmentStartsAt())
+        ) + System.lineSeparator();
+        
+        Files.writeString(file, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
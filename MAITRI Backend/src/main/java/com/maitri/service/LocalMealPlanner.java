@@ -0,0 +1,192 @@
+package com.maitri.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.maitri.dto.Meal;
+import com.maitri.dto.MealPlan;
+import com.maitri.dto.Nutrients;
+import com.maitri.service.LocalRecipeCatalog.MealType;
+
+/**
+ * Plans a day of meals from the local recipe catalog, without any network calls.
+ *
+ * Picks one breakfast, lunch and dinner (plus up to two snacks when they bring the day closer to target)
+ * that respect the diet and intolerances, minimizing the distance from the calorie target plus a
+ * penalty when protein falls outside 15-35% of energy. Candidates are sorted by calories, so for
+ * each breakfast and lunch only the few dinners around the calories still needed are scored.
+ */
+@Service
+public class LocalMealPlanner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LocalMealPlanner.class);
+    
+    static final String DATA_SOURCE = "Maitri Local Meal Planner";
+    
+    private static final double MIN_PROTEIN_SHARE = 0.15;
+    private static final double MAX_PROTEIN_SHARE = 0.35;
+    
+    // Dinners scored either side of the one closest to the calories still needed
+    private static final int DINNER_WINDOW = 3;
+    
+    // Snacks are added one at a time while they bring the day closer to target
+    private static final int MAX_SNACKS = 2;
+    
+    @Autowired
+    private LocalRecipeCatalog catalog;
+    
+    /**
+     * Plan for the target calories; empty when the catalog has no breakfast, lunch or dinner
+     * compatible with the diet and intolerances
+     */
+    public Optional<MealPlan> plan(int targetCalories, String diet, List<String> intolerances, boolean fallback) {
+        return plan(targetCalories, diet, intolerances, fallback, 0);
+    }
+    
+    /**
+     * Plan for one day of a multi-day plan: day n avoids the recipes planned for days 0 to n-1
+     * as long as every meal type still has other candidates
+     */
+    public Optional<MealPlan> plan(int targetCalories, String diet, List<String> intolerances, boolean fallback, int day) {
+        long started = System.nanoTime();
+        int requiredDiets = LocalRecipeCatalog.dietMask(diet);
+        int excludedAllergens = LocalRecipeCatalog.allergenMask(intolerances);
+        
+        int[] breakfasts = catalog.candidates(MealType.BREAKFAST, requiredDiets, excludedAllergens);
+        int[] lunches = catalog.candidates(MealType.LUNCH, requiredDiets, excludedAllergens);
+        int[] dinners = catalog.candidates(MealType.DINNER, requiredDiets, excludedAllergens);
+        int[] snacks = catalog.candidates(MealType.SNACK, requiredDiets, excludedAllergens);
+        if (breakfasts.length == 0 || lunches.length == 0 || dinners.length == 0) {
+            return Optional.empty();
+        }
+        
+        // Earlier days are re-planned (microseconds each) rather than shared, so any day can be planned on its own
+        Set<Integer> used = new HashSet<>();
+        List<Integer> chosen = List.of();
+        for (int planned = 0; planned <= day; planned++) {
+            chosen = solve(targetCalories, unused(breakfasts, used), unused(lunches, used),
+                    unused(dinners, used), unused(snacks, used));
+            used.addAll(chosen);
+        }
+        
+        List<Meal> meals = new ArrayList<>(chosen.size());
+        for (int recipe : chosen) {
+            meals.add(new Meal(catalog.id(recipe), catalog.title(recipe), catalog.readyMinutes(recipe),
+                    catalog.servings(recipe), ""));
+        }
+        Nutrients nutrients = new Nutrients(
+            round(sum(chosen, catalog::calories)),
+            round(sum(chosen, catalog::protein)),
+            round(sum(chosen, catalog::fat)),
+            round(sum(chosen, catalog::carbs))
+        );
+        
+        logger.info("🥗 Local meal plan for {} kcal: {} kcal from {} recipes in {} µs",
+                targetCalories, nutrients.calories(), meals.size(), (System.nanoTime() - started) / 1000);
+        return Optional.of(new MealPlan(meals, nutrients, targetCalories, fallback, false, DATA_SOURCE));
+    }
+    
+    // Best breakfast, lunch and dinner, then snacks while they improve the score
+    private List<Integer> solve(int targetCalories, int[] breakfasts, int[] lunches, int[] dinners, int[] snacks) {
+        int bestBreakfast = -1;
+        int bestLunch = -1;
+        int bestDinner = -1;
+        double bestScore = Double.MAX_VALUE;
+        for (int breakfast : breakfasts) {
+            for (int lunch : lunches) {
+                float caloriesSoFar = catalog.calories(breakfast) + catalog.calories(lunch);
+                float proteinSoFar = catalog.protein(breakfast) + catalog.protein(lunch);
+                int closest = closestByCalories(dinners, targetCalories - caloriesSoFar);
+                int from = Math.max(0, closest - DINNER_WINDOW);
+                int to = Math.min(dinners.length - 1, closest + DINNER_WINDOW);
+                for (int i = from; i <= to; i++) {
+                    int dinner = dinners[i];
+                    double score = score(targetCalories, caloriesSoFar + catalog.calories(dinner),
+                            proteinSoFar + catalog.protein(dinner));
+                    if (score < bestScore) {
+                        bestScore = score;
+                        bestBreakfast = breakfast;
+                        bestLunch = lunch;
+                        bestDinner = dinner;
+                    }
+                }
+            }
+        }
+        
+        List<Integer> chosen = new ArrayList<>(List.of(bestBreakfast, bestLunch, bestDinner));
+        for (int added = 0; added < MAX_SNACKS; added++) {
+            float dayCalories = sum(chosen, catalog::calories);
+            float dayProtein = sum(chosen, catalog::protein);
+            int bestSnack = -1;
+            for (int snack : snacks) {
+                double score = score(targetCalories, dayCalories + catalog.calories(snack), dayProtein + catalog.protein(snack));
+                if (score < bestScore && !chosen.contains(snack)) {
+                    bestScore = score;
+                    bestSnack = snack;
+                }
+            }
+            if (bestSnack < 0) {
+                break;
+            }
+            chosen.add(bestSnack);
+        }
+        return chosen;
+    }
+    
+    // Candidates not in used (still ascending by calories), or all of them if every one was used
+    private static int[] unused(int[] recipes, Set<Integer> used) {
+        int[] remaining = Arrays.stream(recipes).filter(recipe -> !used.contains(recipe)).toArray();
+        return remaining.length > 0 ? remaining : recipes;
+    }
+    
+    // Calorie distance plus, in kcal-equivalent terms, how far protein is outside its share of energy
+    private static double score(int targetCalories, double calories, double protein) {
+        double proteinShare = calories > 0 ? protein * 4 / calories : 0;
+        double proteinPenalty = Math.max(0, MIN_PROTEIN_SHARE - proteinShare) + Math.max(0, proteinShare - MAX_PROTEIN_SHARE);
+        return Math.abs(calories - targetCalories) + proteinPenalty * targetCalories;
+    }
+    
+    // Index of the recipe whose calories are closest to wanted, in a calorie-sorted array
+    private int closestByCalories(int[] recipes, float wanted) {
+        int low = 0;
+        int high = recipes.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (catalog.calories(recipes[mid]) < wanted) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low > 0 && wanted - catalog.calories(recipes[low - 1]) < catalog.calories(recipes[low]) - wanted) {
+            return low - 1;
+        }
+        return low;
+    }
+    
+    private static float sum(List<Integer> recipes, RecipeValue value) {
+        float total = 0;
+        for (int recipe : recipes) {
+            total += value.of(recipe);
+        }
+        return total;
+    }
+    
+    private static double round(float value) {
+        return Math.round(value * 10) / 10.0;
+    }
+    
+    @FunctionalInterface
+    private interface RecipeValue {
+        float of(int recipe);
+    }
+}
@@ -0,0 +1,223 @@
+package com.maitri.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory recipe catalog for the local meal planner, loaded from a bundled CSV.
+ *
+ * Stored column by column in primitive arrays (one slot per recipe) with diets and allergens
+ * as bit masks, so filtering a meal type is a scan over a few int arrays and the whole catalog
+ * costs a few bytes per recipe plus its titles.
+ */
+@Service
+public class LocalRecipeCatalog {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LocalRecipeCatalog.class);
+    
+    // Spoonacular diet and intolerance names, as produced by SpoonacularService; bit i = index i
+    static final List<String> DIETS = List.of("vegetarian", "vegan", "gluten free", "ketogenic", "paleo", "mediterranean");
+    static final List<String> ALLERGENS = List.of("dairy", "gluten", "tree nut", "peanut", "soy", "shellfish", "seafood", "egg", "sesame");
+    
+    public enum MealType {
+        BREAKFAST, LUNCH, DINNER, SNACK
+    }
+    
+    @Value("${app.meal-planner.catalog:data/recipes.csv}")
+    private String catalogPath = "data/recipes.csv";
+    
+    private int size;
+    private int[] ids;
+    private String[] titles;
+    private byte[] mealTypes;
+    private short[] readyMinutes;
+    private byte[] servings;
+    private float[] calories;
+    private float[] protein;
+    private float[] fat;
+    private float[] carbs;
+    private int[] dietMasks;
+    private int[] allergenMasks;
+    
+    // Recipe indexes of each meal type, ascending by calories
+    private int[][] byMealType;
+    
+    @PostConstruct
+    void load() {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(catalogPath).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            boolean header = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                rows.add(line.split(",", -1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read recipe catalog " + catalogPath, e);
+        }
+        
+        size = rows.size();
+        ids = new int[size];
+        titles = new String[size];
+        mealTypes = new byte[size];
+        readyMinutes = new short[size];
+        servings = new byte[size];
+        calories = new float[size];
+        protein = new float[size];
+        fat = new float[size];
+        carbs = new float[size];
+        dietMasks = new int[size];
+        allergenMasks = new int[size];
+        
+        for (int i = 0; i < size; i++) {
+            String[] row = rows.get(i);
+            if (row.length != 11) {
+                throw new IllegalStateException("Recipe catalog row " + (i + 1) + " has " + row.length + " columns, expected 11");
+            }
+            ids[i] = Integer.parseInt(row[0]);
+            mealTypes[i] = (byte) MealType.valueOf(row[1].trim().toUpperCase()).ordinal();
+            titles[i] = row[2].trim();
+            readyMinutes[i] = Short.parseShort(row[3]);
+            servings[i] = Byte.parseByte(row[4]);
+            calories[i] = Float.parseFloat(row[5]);
+            protein[i] = Float.parseFloat(row[6]);
+            fat[i] = Float.parseFloat(row[7]);
+            carbs[i] = Float.parseFloat(row[8]);
+            dietMasks[i] = parseMask(row[9], DIETS, ids[i]);
+            allergenMasks[i] = parseMask(row[10], ALLERGENS, ids[i]);
+        }
+        
+        byMealType = new int[MealType.values().length][];
+        for (MealType type : MealType.values()) {
+            byMealType[type.ordinal()] = IntStream.range(0, size)
+                    .filter(i -> mealTypes[i] == type.ordinal())
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(i -> calories[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        
+        logger.info("🥗 Loaded {} recipes into the local meal planner catalog", size);
+    }
+    
+    /**
+     * Recipes of a meal type having every diet in requiredDiets and none of excludedAllergens,
+     * ascending by calories
+     */
+    public int[] candidates(MealType type, int requiredDiets, int excludedAllergens) {
+        int[] all = byMealType[type.ordinal()];
+        int[] matches = new int[all.length];
+        int count = 0;
+        for (int recipe : all) {
+            if ((dietMasks[recipe] & requiredDiets) == requiredDiets && (allergenMasks[recipe] & excludedAllergens) == 0) {
+                matches[count++] = recipe;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+    
+    /**
+     * Bit mask for a diet name ("" = no restriction); unknown diets match nothing in the catalog
+     */
+    public static int dietMask(String diet) {
+        if (diet == null || diet.isBlank()) {
+            return 0;
+        }
+        int index = DIETS.indexOf(diet);
+        return index >= 0 ? 1 << index : 1 << DIETS.size();
+    }
+    
+    /**
+     * Bit mask for intolerance names; names the catalog doesn't track are ignored
+     */
+    public static int allergenMask(Collection<String> intolerances) {
+        int mask = 0;
+        for (String intolerance : intolerances) {
+            int index = ALLERGENS.indexOf(intolerance);
+            if (index >= 0) {
+                mask |= 1 << index;
+            }
+        }
+        // Shellfish is seafood too
+        if ((mask & (1 << ALLERGENS.indexOf("seafood"))) != 0) {
+            mask |= 1 << ALLERGENS.indexOf("shellfish");
+        }
+        return mask;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int id(int recipe) {
+        return ids[recipe];
+    }
+    
+    public String title(int recipe) {
+        return titles[recipe];
+    }
+    
+    public int readyMinutes(int recipe) {
+        return readyMinutes[recipe];
+    }
+    
+    public int servings(int recipe) {
+        return servings[recipe];
+    }
+    
+    public float calories(int recipe) {
+        return calories[recipe];
+    }
+    
+    public float protein(int recipe) {
+        return protein[recipe];
+    }
+    
+    public float fat(int recipe) {
+        return fat[recipe];
+    }
+    
+    public float carbs(int recipe) {
+        return carbs[recipe];
+    }
+    
+    private static int parseMask(String value, List<String> names, int recipeId) {
+        int mask = 0;
+        for (String name : value.split("\\|")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int index = names.indexOf(trimmed);
+            if (index < 0) {
+                throw new IllegalStateException("Recipe " + recipeId + " has unknown tag '" + trimmed + "'");
+            }
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,25 @@
+package com.maitri.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.maitri.model.BookingOutboxEvent;
+
+/**
+ * Default notifier: writes notifications to the application log (no real delivery yet)
+ */
+@Service
+@ConditionalOnProperty(name = "app.booking.notifier", havingValue = "log", matchIfMissing = true)
+public class LoggingBookingNotifier implements BookingNotifier {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoggingBookingNotifier.class);
+    
+    @Override
+    public void send(BookingOutboxEvent event) {
+        logger.info("📧 {} for booking {} -> {} ({} with {} at {})",
+                    event.getEventType(), event.getBookingId(), event.getRecipientEmail(),
+                    event.getPatientName(), event.getDoctorName(), event.getAppointmentStartsAt());
+    }
+}
@@ -0,0 +1,133 @@
+package com.maitri.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Short-lived reservations of a (doctor, date, time) slot while a patient completes checkout.
+ * 
+ * Holds live only in memory and expire after a few minutes. A slot held by one patient
+ * is hidden from everyone else's availability and cannot be booked by them until the
+ * hold expires, is released, or is consumed by the holder's booking.
+ */
+@Service
+public class SlotHoldService {
+    
+    private final Duration holdDuration;
+    private final Clock clock;
+    
+    private final Map<SlotKey, SlotHold> holdsBySlot = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public SlotHoldService(@Value("${app.booking.slot-hold-minutes:5}") int holdMinutes) {
+        this(Duration.ofMinutes(holdMinutes), Clock.systemUTC());
+    }
+    
+    SlotHoldService(Duration holdDuration, Clock clock) {
+        this.holdDuration = holdDuration;
+        this.clock = clock;
+    }
+    
+    /**
+     * Place (or refresh) a hold on a slot for a patient.
+     * Throws if another patient currently holds the slot.
+     */
+    public SlotHold hold(SlotKey slot, Long patientId) {
+        Instant now = clock.instant();
+        
+        return holdsBySlot.compute(slot, (key, existing) -> {
+            if (existing != null && !existing.isExpired(now) && !existing.patientId().equals(patientId)) {
+                throw new RuntimeException("This time slot is currently being booked by another patient. Please pick another slot or try again in a few minutes");
+            }
+            String holdId = existing != null && existing.patientId().equals(patientId)
+                    ? existing.holdId()
+                    : UUID.randomUUID().toString();
+            return new SlotHold(holdId, key, patientId, now.plus(holdDuration));
+        });
+    }
+    
+    /**
+     * Release a hold early. Only the patient who placed it can release it.
+     */
+    public boolean release(String holdId, Long patientId) {
+        Optional<SlotHold> hold = findByHoldId(holdId);
+        return hold.isPresent()
+                && hold.get().patientId().equals(patientId)
+                && holdsBySlot.remove(hold.get().slot(), hold.get());
+    }
+    
+    /**
+     * Drop the patient's hold on a slot once it has been turned into a booking (or the attempt failed)
+     */
+    public void releaseSlot(SlotKey slot, Long patientId) {
+        holdsBySlot.computeIfPresent(slot, (key, existing) -> existing.patientId().equals(patientId) ? null : existing);
+    }
+    
+    /**
+     * Times on this doctor's day that are held by someone other than the given patient
+     */
+    public Set<LocalTime> getTimesHeldByOthers(Long doctorId, LocalDate date, Long patientId) {
+        Instant now = clock.instant();
+        Set<LocalTime> held = new HashSet<>();
+        
+        for (SlotHold hold : holdsBySlot.values()) {
+            SlotKey slot = hold.slot();
+            if (slot.doctorId().equals(doctorId) && slot.date().equals(date)
+                    && !hold.isExpired(now) && !hold.patientId().equals(patientId)) {
+                held.add(slot.time());
+            }
+        }
+        return held;
+    }
+    
+    /**
+     * Remove expired holds and return them (so their slots can be offered to the waitlist)
+     */
+    public List<SlotHold> purgeExpired() {
+        Instant now = clock.instant();
+        List<SlotHold> expired = new ArrayList<>();
+        
+        for (SlotHold hold : holdsBySlot.values()) {
+            if (hold.isExpired(now) && holdsBySlot.remove(hold.slot(), hold)) {
+                expired.add(hold);
+            }
+        }
+        return expired;
+    }
+    
+    public Optional<SlotHold> findByHoldId(String holdId) {
+        return holdsBySlot.values().stream()
+                .filter(hold -> hold.holdId().equals(holdId))
+                .findFirst();
+    }
+    
+    /**
+     * A single bookable slot
+     */
+    public record SlotKey(Long doctorId, LocalDate date, LocalTime time) {}
+    
+    /**
+     * A patient's temporary claim on a slot
+     */
+    public record SlotHold(String holdId, SlotKey slot, Long patientId, Instant expiresAt) {
+        
+        boolean isExpired(Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.maitri.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import com.maitri.util.TokenBucket;
+
+import jakarta.annotation.PostConstruct;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps Spoonacular calls inside the plan's limits so we fall back locally instead of
+ * paying a round trip for a 402.
+ *
+ * Spoonacular bills in "points" per UTC day and reports usage in response headers
+ * (X-API-Quota-Request, X-API-Quota-Used, X-API-Quota-Left). Each call is checked against
+ * the remaining daily points and a per-second token bucket before it is sent. Background
+ * calls (prefetching, warm-ups) may not dip into the share of points and tokens reserved
+ * for interactive requests. Calls that find the bucket empty may instead wait a bounded time
+ * for a token, so a burst such as a weekly plan (and its prefetch) is paced rather than refused.
+ */
+@Service
+public class SpoonacularQuotaManager {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SpoonacularQuotaManager.class);
+    
+    static final String QUOTA_REQUEST_HEADER = "X-API-Quota-Request";
+    static final String QUOTA_USED_HEADER = "X-API-Quota-Used";
+    static final String QUOTA_LEFT_HEADER = "X-API-Quota-Left";
+    
+    static final long DENIED_DAILY_BUDGET = -1;
+    static final long DENIED_RATE_LIMIT = -2;
+    
+    @Value("${app.spoonacular.quota.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.spoonacular.quota.daily-points:150}")
+    private double dailyPoints;
+    
+    @Value("${app.spoonacular.quota.requests-per-second:1}")
+    private double requestsPerSecond;
+    
+    @Value("${app.spoonacular.quota.burst:5}")
+    private int burst;
+    
+    // Share of the daily points background calls must leave for interactive ones
+    @Value("${app.spoonacular.quota.background-reserve-percent:20}")
+    private int backgroundReservePercent;
+    
+    // How long an interactive call may wait for a token before it is refused (0 = never wait)
+    @Value("${app.spoonacular.quota.interactive-max-wait-ms:5000}")
+    private long interactiveMaxWaitMs;
+    
+    // How long a background call may wait for the bucket to refill past the interactive token (0 = never wait)
+    @Value("${app.spoonacular.quota.background-max-wait-ms:10000}")
+    private long backgroundMaxWaitMs;
+    
+    private Clock clock = Clock.systemUTC();
+    
+    private TokenBucket requestBucket;
+    
+    // Guarded by this
+    private LocalDate quotaDay;
+    private double pointsUsed;
+    private boolean exhausted;
+    private final Map<Operation, Double> lastCosts = new EnumMap<>(Operation.class);
+    
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder deniedDailyBudget = new LongAdder();
+    private final LongAdder deniedRateLimit = new LongAdder();
+    private final LongAdder delayedRateLimit = new LongAdder();
+    
+    public enum Priority {
+        INTERACTIVE, BACKGROUND
+    }
+    
+    /**
+     * Spoonacular endpoints we call, with the point cost assumed until a response reports the real one
+     */
+    public enum Operation {
+        MEAL_PLAN(1.0), INGREDIENT_SEARCH(1.1), RECIPE_INFORMATION_BULK(2.5);
+        
+        private final double estimatedCost;
+        
+        Operation(double estimatedCost) {
+            this.estimatedCost = estimatedCost;
+        }
+    }
+    
+    /**
+     * Thrown (and handled by callers' fallbacks) when a call is refused before being sent
+     */
+    public static class QuotaExceededException extends RuntimeException {
+        public QuotaExceededException(String message) {
+            super(message);
+        }
+    }
+    
+    @PostConstruct
+    void init() {
+        requestBucket = new TokenBucket(burst, requestsPerSecond);
+        quotaDay = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+    }
+    
+    /**
+     * Reserve budget for one call without waiting; false means the caller should use its cache or fallback
+     */
+    public boolean tryAcquire(Operation operation, Priority priority) {
+        return countRateDenial(reserve(operation, priority, 0)) >= 0;
+    }
+    
+    /**
+     * Reserve budget for one call, completing once it may be sent or failing with QuotaExceededException.
+     * Interactive calls take a token that refills within their wait and wait for it; background calls
+     * re-check when the bucket should have refilled past the interactive token, so they never hold one
+     */
+    public Mono<Void> acquire(Operation operation, Priority priority) {
+        if (priority == Priority.BACKGROUND) {
+            return Mono.defer(() -> acquireBackground(operation,
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backgroundMaxWaitMs), false));
+        }
+        return Mono.defer(() -> {
+            long waitNanos = countRateDenial(reserve(operation, priority, TimeUnit.MILLISECONDS.toNanos(interactiveMaxWaitMs)));
+            if (waitNanos < 0) {
+                return Mono.error(refused(operation));
+            }
+            return waitNanos > 0 ? Mono.delay(Duration.ofNanos(waitNanos)).then() : Mono.empty();
+        });
+    }
+    
+    private Mono<Void> acquireBackground(Operation operation, long deadline, boolean retried) {
+        long result = reserve(operation, Priority.BACKGROUND, 0);
+        if (result >= 0) {
+            if (retried) {
+                delayedRateLimit.increment();
+            }
+            return Mono.empty();
+        }
+        long retryNanos = result == DENIED_RATE_LIMIT ? requestBucket.nanosUntil(1 + backgroundTokenReserve()) : -1;
+        if (retryNanos < 0 || System.nanoTime() + retryNanos > deadline) {
+            countRateDenial(result);
+            return Mono.error(refused(operation));
+        }
+        return Mono.delay(Duration.ofNanos(Math.max(retryNanos, 1)))
+                .then(Mono.defer(() -> acquireBackground(operation, deadline, true)));
+    }
+    
+    /**
+     * Nanoseconds until the reserved token is usable, or DENIED_DAILY_BUDGET / DENIED_RATE_LIMIT when the call
+     * is refused; daily budget refusals are counted here, rate limit ones by the caller once it gives up
+     */
+    long reserve(Operation operation, Priority priority, long maxWaitNanos) {
+        if (!enabled) {
+            allowed.increment();
+            return 0;
+        }
+        
+        long waitNanos;
+        
+        synchronized (this) {
+            rollOverIfNewDay();
+            
+            double cost = lastCosts.getOrDefault(operation, operation.estimatedCost);
+            double limit = priority == Priority.INTERACTIVE ? dailyPoints : dailyPoints - backgroundReserve();
+            if (exhausted || pointsUsed + cost > limit) {
+                deniedDailyBudget.increment();
+                return DENIED_DAILY_BUDGET;
+            }
+            
+            // Background calls leave one token so an interactive request never waits behind them
+            if (priority == Priority.BACKGROUND) {
+                waitNanos = requestBucket.tryAcquire(1, backgroundTokenReserve()) ? 0 : -1;
+            } else {
+                waitNanos = requestBucket.reserve(1, maxWaitNanos);
+            }
+            if (waitNanos < 0) {
+                return DENIED_RATE_LIMIT;
+            }
+            
+            // Counted up front so concurrent calls can't overshoot; corrected from the response headers
+            pointsUsed += cost;
+        }
+        allowed.increment();
+        if (waitNanos > 0) {
+            delayedRateLimit.increment();
+        }
+        return waitNanos;
+    }
+    
+    /**
+     * Sync usage from a Spoonacular response; the provider's count is authoritative
+     */
+    public synchronized void recordResponse(Operation operation, HttpHeaders headers) {
+        rollOverIfNewDay();
+        
+        Double requestCost = headerValue(headers, QUOTA_REQUEST_HEADER);
+        if (requestCost != null) {
+            lastCosts.put(operation, requestCost);
+        }
+        
+        Double used = headerValue(headers, QUOTA_USED_HEADER);
+        if (used != null) {
+            pointsUsed = used;
+        }
+        
+        Double left = headerValue(headers, QUOTA_LEFT_HEADER);
+        if (left != null && left <= 0) {
+            markExhausted();
+        }
+    }
+    
+    /**
+     * Refuse all calls until the next UTC day (Spoonacular answered 402 Payment Required)
+     */
+    public synchronized void markExhausted() {
+        rollOverIfNewDay();
+        if (!exhausted) {
+            logger.warn("⚠️ Spoonacular daily quota exhausted; using cached and fallback data until {} UTC", quotaDay.plusDays(1));
+        }
+        exhausted = true;
+        pointsUsed = Math.max(pointsUsed, dailyPoints);
+    }
+    
+    /**
+     * Points used and left today, current token count and allow/deny counters
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        synchronized (this) {
+            rollOverIfNewDay();
+            stats.put("day", quotaDay.toString());
+            stats.put("dailyPoints", dailyPoints);
+            stats.put("pointsUsed", pointsUsed);
+            stats.put("pointsLeft", Math.max(0, dailyPoints - pointsUsed));
+            stats.put("backgroundReservePoints", backgroundReserve());
+            stats.put("exhausted", exhausted);
+            stats.put("lastCosts", new EnumMap<>(lastCosts));
+        }
+        stats.put("tokensAvailable", requestBucket.available());
+        stats.put("allowed", allowed.sum());
+        stats.put("deniedDailyBudget", deniedDailyBudget.sum());
+        stats.put("deniedRateLimit", deniedRateLimit.sum());
+        stats.put("delayedRateLimit", delayedRateLimit.sum());
+        return stats;
+    }
+    
+    private long countRateDenial(long result) {
+        if (result == DENIED_RATE_LIMIT) {
+            deniedRateLimit.increment();
+        }
+        return result;
+    }
+    
+    private static QuotaExceededException refused(Operation operation) {
+        return new QuotaExceededException("Spoonacular quota reached for " + operation);
+    }
+    
+    private double backgroundTokenReserve() {
+        return burst > 1 ? 1 : 0;
+    }
+    
+    private double backgroundReserve() {
+        return dailyPoints * backgroundReservePercent / 100.0;
+    }
+    
+    // Spoonacular resets quotas at midnight UTC
+    private void rollOverIfNewDay() {
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        if (!today.equals(quotaDay)) {
+            quotaDay = today;
+            pointsUsed = 0;
+            exhausted = false;
+        }
+    }
+    
+    private static Double headerValue(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            logger.debug("Ignoring unparseable {} header: {}", name, value);
+            return null;
+        }
+    }
+}
@@ -1,22 +1,56 @@
 package com.maitri.service;
 
+import java.io.File;
+import java.io.IOException;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.maitri.dto.Meal;
+import com.maitri.dto.MealPlan;
+import com.maitri.dto.RecipeDetails;
+import com.maitri.dto.SpoonacularIngredientSearchResponse;
+import com.maitri.dto.SpoonacularIngredientSearchResponse.Ingredient;
+import com.maitri.dto.SpoonacularMealPlanResponse;
+import com.maitri.dto.WeeklyMealPlanDay;
+import com.maitri.service.SpoonacularQuotaManager.Operation;
+import com.maitri.service.SpoonacularQuotaManager.Priority;
+import com.maitri.service.SpoonacularQuotaManager.QuotaExceededException;
+import com.maitri.util.CircuitBreaker;
+import com.maitri.util.CircuitBreaker.CallNotPermittedException;
+import com.maitri.util.SingleFlight;
+import com.maitri.util.TtlCache;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -24,14 +58,126 @@ public class SpoonacularService {
 
     private static final Logger logger = LoggerFactory.getLogger(SpoonacularService.class);
 
+    private static final Duration SPOONACULAR_TIMEOUT = Duration.ofSeconds(10);
+
+    static final int WEEK_DAYS = 7;
+
+    // Ingredient search matches kept per looked-up ingredient
+    private static final int RESULTS_PER_INGREDIENT = 3;
+
+    // Last resort when neither Spoonacular nor the local planner can produce a plan
+    private static final List<Meal> FALLBACK_MEALS = List.of(
+        new Meal(715594, "Homemade Gyoza", 45, 4, "https://spoonacular.com/homemade-gyoza-715594"),
+        new Meal(782585, "Cannellini Bean and Asparagus Salad", 20, 2,
+                 "https://spoonacular.com/cannellini-bean-and-asparagus-salad-782585"),
+        new Meal(639851, "Creamy Mushroom Pasta", 30, 3, "https://spoonacular.com/creamy-mushroom-pasta-639851")
+    );
+
     @Value("${app.spoonacular.api-key}")
     private String apiKey;
 
     @Value("${app.spoonacular.base-url}")
     private String baseUrl;
 
+    // Generated meal plans are shared between users with the same normalized requirements
+    @Value("${app.spoonacular.meal-plan-cache.max-entries:500}")
+    private int mealPlanCacheMaxEntries;
+
+    @Value("${app.spoonacular.meal-plan-cache.ttl-hours:24}")
+    private int mealPlanCacheTtlHours;
+
+    // Optional file that keeps warm cache entries across restarts (disabled when blank)
+    @Value("${app.spoonacular.meal-plan-cache.persist-file:}")
+    private String mealPlanCachePersistFile;
+
+    // Ingredient search results are cached per normalized ingredient and shared between users
+    @Value("${app.spoonacular.ingredient-cache.max-entries:5000}")
+    private int ingredientCacheMaxEntries;
+
+    @Value("${app.spoonacular.ingredient-cache.ttl-hours:168}")
+    private int ingredientCacheTtlHours;
+
+    @Value("${app.spoonacular.ingredient-cache.persist-file:}")
+    private String ingredientCachePersistFile;
+
+    // Ingredients missing from the cache are looked up in parallel, at most this many at a time
+    @Value("${app.spoonacular.ingredient-cache.max-concurrency:4}")
+    private int ingredientLookupConcurrency;
+
+    // Recipe details rarely change: kept for long and shared by every plan that uses the recipe
+    @Value("${app.spoonacular.recipe-cache.max-entries:2000}")
+    private int recipeCacheMaxEntries;
+
+    @Value("${app.spoonacular.recipe-cache.ttl-hours:720}")
+    private int recipeCacheTtlHours;
+
+    @Value("${app.spoonacular.recipe-cache.persist-file:}")
+    private String recipeCachePersistFile;
+
+    // Fetch the recipes of each new meal plan in one background bulk call, before the client asks for them
+    @Value("${app.spoonacular.recipe-cache.prefetch:true}")
+    private boolean recipePrefetch;
+
+    // Days of a weekly plan are generated in parallel, at most this many at a time
+    @Value("${app.spoonacular.weekly-plan.max-concurrency:3}")
+    private int weeklyPlanConcurrency;
+
+    // While Spoonacular is failing, calls go straight to the fallback instead of waiting for the timeout
+    @Value("${app.spoonacular.circuit-breaker.window-size:20}")
+    private int breakerWindowSize;
+
+    @Value("${app.spoonacular.circuit-breaker.minimum-calls:5}")
+    private int breakerMinimumCalls;
+
+    @Value("${app.spoonacular.circuit-breaker.failure-rate-threshold:50}")
+    private int breakerFailureRateThreshold;
+
+    @Value("${app.spoonacular.circuit-breaker.open-seconds:30}")
+    private int breakerOpenSeconds;
+
+    @Value("${app.spoonacular.circuit-breaker.half-open-probes:2}")
+    private int breakerHalfOpenProbes;
+
+    // "local" plans every request from the bundled recipe catalog; "spoonacular" uses it only as the fallback
+    @Value("${app.meal-planner.engine:spoonacular}")
+    private String mealPlannerEngine;
+
+    @Autowired
+    private SpoonacularQuotaManager quotaManager;
+
+    @Autowired
+    private LocalMealPlanner localMealPlanner;
+
+    private CircuitBreaker circuitBreaker;
+
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private TtlCache<MealPlanKey, MealPlan> mealPlanCache;
+    private TtlCache<String, List<Ingredient>> ingredientCache;
+    private TtlCache<Integer, RecipeDetails> recipeCache;
+
+    // Concurrent identical upstream calls are coalesced into one
+    private final SingleFlight<MealPlanKey, MealPlan> mealPlanFlights = new SingleFlight<>();
+    private final SingleFlight<String, List<Ingredient>> ingredientFlights = new SingleFlight<>();
+    private final SingleFlight<List<Integer>, List<RecipeDetails>> recipeFlights = new SingleFlight<>();
+
+    /**
+     * Cache key for a meal plan: target calories rounded to the nearest 50 kcal,
+     * Spoonacular diet, the sorted set of intolerances and the day (0 = single-day plan, 1-7 = weekly plan days)
+     */
+    public record MealPlanKey(int calories, String diet, List<String> intolerances, int day) {
+
+        static final int CALORIE_BUCKET = 50;
+
+        public static MealPlanKey of(int calories, String diet, Collection<String> intolerances) {
+            int bucketed = (int) Math.round(calories / (double) CALORIE_BUCKET) * CALORIE_BUCKET;
+            return new MealPlanKey(bucketed, diet, List.copyOf(new TreeSet<>(intolerances)), 0);
+        }
+
+        public MealPlanKey forDay(int day) {
+            return new MealPlanKey(calories, diet, intolerances, day);
+        }
+    }
 
     public SpoonacularService() {
         this.webClient = WebClient.builder()
@@ -45,66 +191,350 @@ public class SpoonacularService {
         logger.info("SpoonacularService initialized with WebClient");
     }
 
+    @PostConstruct
+    void initMealPlanCache() {
+        mealPlanCache = new TtlCache<>(mealPlanCacheMaxEntries, Duration.ofHours(mealPlanCacheTtlHours));
+        loadCache(mealPlanCache, mealPlanCachePersistFile, "plan", "meal plan",
+                objectMapper.constructType(MealPlanKey.class), objectMapper.constructType(MealPlan.class));
+    }
+
+    @PostConstruct
+    void initIngredientCache() {
+        ingredientCache = new TtlCache<>(ingredientCacheMaxEntries, Duration.ofHours(ingredientCacheTtlHours));
+        loadCache(ingredientCache, ingredientCachePersistFile, "results", "ingredient",
+                objectMapper.constructType(String.class),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, Ingredient.class));
+    }
+
+    @PostConstruct
+    void initRecipeCache() {
+        recipeCache = new TtlCache<>(recipeCacheMaxEntries, Duration.ofHours(recipeCacheTtlHours));
+        loadCache(recipeCache, recipeCachePersistFile, "recipe", "recipe",
+                objectMapper.constructType(Integer.class), objectMapper.constructType(RecipeDetails.class));
+    }
+
+    @PostConstruct
+    void initCircuitBreaker() {
+        CircuitBreaker.Config config = new CircuitBreaker.Config(breakerWindowSize, breakerMinimumCalls,
+                breakerFailureRateThreshold, Duration.ofSeconds(breakerOpenSeconds), breakerHalfOpenProbes);
+        // 4xx answers (bad request, quota) mean Spoonacular is up; quota refusals never reach it at all
+        circuitBreaker = new CircuitBreaker("spoonacular", config,
+                error -> !(error instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()),
+                error -> error instanceof QuotaExceededException);
+    }
+
+    @PreDestroy
+    void persistCaches() {
+        saveCache(mealPlanCache, mealPlanCachePersistFile, "plan", "meal plan");
+        saveCache(ingredientCache, ingredientCachePersistFile, "results", "ingredient");
+        saveCache(recipeCache, recipeCachePersistFile, "recipe", "recipe");
+    }
+
+    private <K, V> void saveCache(TtlCache<K, V> cache, String file, String valueField, String name) {
+        if (file.isBlank()) {
+            return;
+        }
+        try {
+            ArrayNode entries = objectMapper.createArrayNode();
+            for (Map.Entry<K, TtlCache.Entry<V>> entry : cache.snapshot()) {
+                ObjectNode node = entries.addObject();
+                node.set("key", objectMapper.valueToTree(entry.getKey()));
+                node.put("expiresAt", entry.getValue().expiresAt().toEpochMilli());
+                node.set(valueField, objectMapper.valueToTree(entry.getValue().value()));
+            }
+            objectMapper.writeValue(new File(file), entries);
+            logger.info("💾 Saved {} {} cache entries to {}", entries.size(), name, file);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not save {} cache: {}", name, e.getMessage());
+        }
+    }
+
+    private <K, V> void loadCache(TtlCache<K, V> cache, String file, String valueField, String name,
+                                  JavaType keyType, JavaType valueType) {
+        if (file.isBlank() || !new File(file).isFile()) {
+            return;
+        }
+        try {
+            int restored = 0;
+            for (JsonNode node : objectMapper.readTree(new File(file))) {
+                K key = objectMapper.convertValue(node.path("key"), keyType);
+                V value = objectMapper.convertValue(node.path(valueField), valueType);
+                cache.restore(key, value, Instant.ofEpochMilli(node.path("expiresAt").asLong()));
+                restored++;
+            }
+            logger.info("💾 Loaded {} {} cache entries from {}", restored, name, file);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not load {} cache: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Meal plan cache size, limits and hit/miss counters
+     */
+    public Map<String, Object> getMealPlanCacheStats() {
+        return mealPlanCache.stats();
+    }
+
+    /**
+     * Ingredient cache size, limits and hit/miss counters
+     */
+    public Map<String, Object> getIngredientCacheStats() {
+        return ingredientCache.stats();
+    }
+
+    /**
+     * Recipe details cache size, limits and hit/miss counters
+     */
+    public Map<String, Object> getRecipeCacheStats() {
+        return recipeCache.stats();
+    }
+
+    /**
+     * Upstream calls issued vs. coalesced, per endpoint
+     */
+    public Map<String, Object> getSingleFlightStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("mealPlan", mealPlanFlights.stats());
+        stats.put("ingredientSearch", ingredientFlights.stats());
+        stats.put("recipeInformation", recipeFlights.stats());
+        return stats;
+    }
+
+    /**
+     * Daily points and per-second budget used by our Spoonacular calls
+     */
+    public Map<String, Object> getQuotaStats() {
+        return quotaManager.stats();
+    }
+
+    /**
+     * Circuit breaker state and call counters for Spoonacular
+     */
+    public Map<String, Object> getCircuitBreakerStats() {
+        return circuitBreaker.stats();
+    }
+
     /**
      * Generate a personalized meal plan based on user requirements
      */
-    public Mono<Map<String, Object>> generateMealPlan(Map<String, Object> userRequirements) {
+    public Mono<MealPlan> generateMealPlan(Map<String, Object> userRequirements) {
+        return generateDayPlan(userRequirements, 0);
+    }
+
+    /**
+     * Generate a 7-day meal plan, emitting each day as soon as it is ready (not in day order).
+     * Every day is cached on its own; regenerateDay (1-7, optional) drops just that day's cached plan.
+     * Recipe details for the whole week are prefetched in one bulk call once every day is planned.
+     */
+    public Flux<WeeklyMealPlanDay> generateWeeklyPlan(Map<String, Object> userRequirements, Integer regenerateDay) {
+        if (regenerateDay != null) {
+            MealPlanKey key = MealPlanKey.of(calculateDailyCalories(userRequirements),
+                    getDietaryPreference(userRequirements), getIntolerances(userRequirements));
+            mealPlanCache.invalidate(key.forDay(regenerateDay));
+            logger.info("Regenerating day {} of weekly meal plan for {}", regenerateDay, key);
+        }
+        return Flux.defer(() -> {
+            Set<Integer> plannedRecipeIds = new LinkedHashSet<>();
+            return Flux.range(1, WEEK_DAYS)
+                    .flatMap(day -> generateDayPlan(userRequirements, day)
+                            .map(plan -> new WeeklyMealPlanDay(day, plan)), weeklyPlanConcurrency)
+                    .doOnNext(weeklyDay -> {
+                        if (weeklyDay.plan().apiSuccess()) {
+                            weeklyDay.plan().meals().forEach(meal -> plannedRecipeIds.add(meal.id()));
+                        }
+                    })
+                    .doOnComplete(() -> prefetchRecipeDetails(plannedRecipeIds));
+        });
+    }
+
+    private Mono<MealPlan> generateDayPlan(Map<String, Object> userRequirements, int day) {
         try {
             // Extract user data
             int calories = calculateDailyCalories(userRequirements);
             String diet = getDietaryPreference(userRequirements);
             List<String> intolerances = getIntolerances(userRequirements);
             
-            logger.info("Generating meal plan for {} calories with diet: {}", calories, diet);
+            MealPlanKey key = MealPlanKey.of(calories, diet, intolerances).forDay(day);
+            
+            if ("local".equalsIgnoreCase(mealPlannerEngine)) {
+                Optional<MealPlan> localPlan = localMealPlanner.plan(calories, diet, intolerances, false, day);
+                if (localPlan.isPresent()) {
+                    return Mono.just(localPlan.get());
+                }
+                logger.info("Local catalog has no plan for {}, asking Spoonacular", key);
+            }
+            
+            MealPlan cached = mealPlanCache.get(key).orElse(null);
+            if (cached != null) {
+                logger.info("Meal plan cache hit for {}", key);
+                return Mono.just(cached);
+            }
+            
+            logger.info("Generating meal plan for {} calories with diet: {}", key.calories(), diet);
             
-            // Build Spoonacular meal plan API URL
-            String url = buildMealPlanUrl(calories, diet, intolerances);
+            // Build Spoonacular meal plan API URL (for the bucketed calories, so the result matches the key)
+            String url = buildMealPlanUrl(key.calories(), key.diet(), key.intolerances());
             
             logger.info("Calling Spoonacular API: {}", url);
             
-            return webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .onStatus(httpStatus -> !httpStatus.is2xxSuccessful(), 
-                        clientResponse -> {
-                            logger.error("Spoonacular API returned status: {}", clientResponse.statusCode());
-                            return clientResponse.bodyToMono(String.class)
-                                .doOnNext(body -> logger.error("Error response body: {}", body))
-                                .then(Mono.error(new RuntimeException("Spoonacular API error: " + clientResponse.statusCode())));
-                        })
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .doOnNext(response -> logger.info("Spoonacular API response: {}", response))
+            // Identical concurrent requests share one upstream call (and the same immutable plan)
+            return mealPlanFlights.execute(key, () -> callSpoonacular(Operation.MEAL_PLAN, Priority.INTERACTIVE, url, Map.of(), SpoonacularMealPlanResponse.class)
                     .map(this::processMealPlanResponse)
-                    .doOnError(error -> logger.error("Error calling Spoonacular API: {}", error.getMessage(), error))
-                    .onErrorReturn(createFallbackMealPlan(userRequirements));
+                    .doOnNext(plan -> {
+                        mealPlanCache.put(key, plan);
+                        // Weekly plans prefetch once for all their days
+                        if (day == 0) {
+                            prefetchRecipeDetails(plan.meals().stream().map(Meal::id).collect(Collectors.toList()));
+                        }
+                    }))
+                    .doOnError(error -> logSpoonacularError("Error calling Spoonacular API", error))
+                    .onErrorResume(error -> Mono.just(createFallbackMealPlan(userRequirements, day)))
+                    .switchIfEmpty(Mono.fromSupplier(() -> createFallbackMealPlan(userRequirements, day)));
                     
         } catch (Exception e) {
             logger.error("Error generating meal plan: {}", e.getMessage(), e);
-            return Mono.just(createFallbackMealPlan(userRequirements));
+            return Mono.just(createFallbackMealPlan(userRequirements, day));
         }
     }
 
     /**
-     * Get nutritional information for specific foods
+     * Ingredients and nutrition of recipes, in the order asked for: cached recipes cost nothing,
+     * the rest are fetched in one bulk call. Recipes that can't be fetched are left out.
+     */
+    public Mono<List<RecipeDetails>> getRecipeDetails(List<Integer> recipeIds) {
+        return loadRecipeDetails(recipeIds, Priority.INTERACTIVE)
+                .map(found -> recipeIds.stream()
+                        .distinct()
+                        .map(found::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+
+    // Warm the recipe cache for newly planned recipes, so the client's detail request doesn't wait for Spoonacular
+    private void prefetchRecipeDetails(Collection<Integer> recipeIds) {
+        if (!recipePrefetch || recipeIds.isEmpty()) {
+            return;
+        }
+        loadRecipeDetails(recipeIds, Priority.BACKGROUND)
+                .subscribe(found -> logger.info("📖 Recipe details cached for {} of {} planned recipes", found.size(), recipeIds.size()));
+    }
+
+    private Mono<Map<Integer, RecipeDetails>> loadRecipeDetails(Collection<Integer> recipeIds, Priority priority) {
+        Map<Integer, RecipeDetails> found = new HashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        for (Integer recipeId : new TreeSet<>(recipeIds)) {
+            Optional<RecipeDetails> cached = recipeCache.get(recipeId);
+            if (cached.isPresent()) {
+                found.put(recipeId, cached.get());
+            } else {
+                misses.add(recipeId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return Mono.just(found);
+        }
+        
+        Map<String, Object> uriVariables = Map.of(
+            "ids", misses.stream().map(String::valueOf).collect(Collectors.joining(",")),
+            "apiKey", apiKey
+        );
+        return recipeFlights.execute(List.copyOf(misses), () -> callSpoonacular(Operation.RECIPE_INFORMATION_BULK, priority,
+                        baseUrl + "/recipes/informationBulk?ids={ids}&includeNutrition=true&apiKey={apiKey}", uriVariables,
+                        RecipeDetails[].class)
+                .map(List::of)
+                .doOnNext(recipes -> recipes.forEach(recipe -> recipeCache.put(recipe.id(), recipe))))
+                .map(recipes -> {
+                    recipes.forEach(recipe -> found.put(recipe.id(), recipe));
+                    return found;
+                })
+                .doOnError(error -> logSpoonacularError("Error getting recipe details for " + misses, error))
+                .onErrorReturn(found)
+                .defaultIfEmpty(found);
+    }
+
+    /**
+     * Get nutritional information for specific foods, one cached lookup per ingredient
      */
     public Mono<Map<String, Object>> getNutritionInfo(List<String> foods) {
-        try {
-            String foodList = String.join(",", foods);
-            String url = baseUrl + "/food/ingredients/search?query=" + foodList + 
-                        "&number=10&apiKey=" + apiKey;
-            
-            return webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .map(this::processNutritionResponse)
-                    .doOnError(error -> logger.error("Error getting nutrition info: {}", error.getMessage()))
-                    .onErrorReturn(Collections.emptyMap());
-                    
-        } catch (Exception e) {
-            logger.error("Error in getNutritionInfo: {}", e.getMessage(), e);
-            return Mono.just(Collections.emptyMap());
+        List<String> ingredients = foods.stream()
+                .filter(Objects::nonNull)
+                .map(SpoonacularService::normalizeIngredient)
+                .filter(ingredient -> !ingredient.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        
+        Map<String, List<Ingredient>> found = new ConcurrentHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String ingredient : ingredients) {
+            Optional<List<Ingredient>> cached = ingredientCache.get(ingredient);
+            if (cached.isPresent()) {
+                found.put(ingredient, cached.get());
+            } else {
+                misses.add(ingredient);
+            }
+        }
+        logger.info("Nutrition info for {} ingredients, {} not cached", ingredients.size(), misses.size());
+        
+        // A failed lookup only leaves that ingredient out of the merged result
+        return Flux.fromIterable(misses)
+                .flatMap(ingredient -> searchIngredient(ingredient)
+                        .doOnNext(results -> found.put(ingredient, results)), ingredientLookupConcurrency)
+                .then(Mono.fromSupplier(() -> processNutritionResponse(ingredients, found)));
+    }
+
+    private Mono<List<Ingredient>> searchIngredient(String ingredient) {
+        // Passed as URI variables so the ingredient is fully encoded
+        Map<String, Object> uriVariables = Map.of("query", ingredient, "number", RESULTS_PER_INGREDIENT, "apiKey", apiKey);
+        return ingredientFlights.execute(ingredient, () -> callSpoonacular(Operation.INGREDIENT_SEARCH, Priority.INTERACTIVE,
+                        baseUrl + "/food/ingredients/search?query={query}&number={number}&apiKey={apiKey}", uriVariables,
+                        SpoonacularIngredientSearchResponse.class)
+                .map(response -> response.results() != null ? List.copyOf(response.results()) : List.<Ingredient>of())
+                .doOnNext(results -> ingredientCache.put(ingredient, results)))
+                .doOnError(error -> logSpoonacularError("Error looking up ingredient '" + ingredient + "'", error))
+                .onErrorResume(error -> Mono.empty());
+    }
+
+    // "  Brown RICE " and "brown rice" share one cache entry
+    static String normalizeIngredient(String food) {
+        return food.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * GET a Spoonacular URL through the circuit breaker and within the quota. Fails without calling out
+     * (CallNotPermittedException / QuotaExceededException) while the circuit is open or the budget is
+     * spent, and keeps the quota in sync with the usage headers of every response. Calls past the request
+     * rate first wait, up to their priority's limit, for a token.
+     *
+     * The body is joined and bound into responseType by Jackson, without building a String or tree first.
+     */
+    private <T> Mono<T> callSpoonacular(Operation operation, Priority priority, String url, Map<String, ?> uriVariables,
+                                        Class<T> responseType) {
+        return circuitBreaker.protect(() -> quotaManager.acquire(operation, priority)
+                .then(webClient.get()
+                        .uri(url, uriVariables)
+                        .retrieve()
+                        .onStatus(httpStatus -> !httpStatus.is2xxSuccessful(), 
+                            clientResponse -> {
+                                logger.error("Spoonacular API returned status: {}", clientResponse.statusCode());
+                                quotaManager.recordResponse(operation, clientResponse.headers().asHttpHeaders());
+                                if (clientResponse.statusCode().value() == 402) {
+                                    quotaManager.markExhausted();
+                                }
+                                return clientResponse.createException()
+                                    .doOnNext(exception -> logger.error("Error response body: {}", exception.getResponseBodyAsString()));
+                            })
+                        .toEntity(responseType)
+                        .timeout(SPOONACULAR_TIMEOUT)
+                        .doOnNext(response -> quotaManager.recordResponse(operation, response.getHeaders()))
+                        .mapNotNull(ResponseEntity::getBody)));
+    }
+
+    // Quota and open-circuit short-circuits are expected, so they don't get a stack trace
+    private void logSpoonacularError(String message, Throwable error) {
+        if (error instanceof QuotaExceededException || error instanceof CallNotPermittedException) {
+            logger.info("{}: {}", message, error.getMessage());
+        } else {
+            logger.error("{}: {}", message, error.getMessage(), error);
         }
     }
 
@@ -247,109 +677,54 @@ public class SpoonacularService {
         return url.toString();
     }
 
-    private Map<String, Object> processMealPlanResponse(String jsonResponse) {
-        try {
-            logger.info("Processing meal plan response, length: {}", jsonResponse.length());
-            JsonNode rootNode = objectMapper.readTree(jsonResponse);
-            Map<String, Object> result = new HashMap<>();
-            
-            JsonNode mealsNode = rootNode.path("meals");
-            if (mealsNode.isArray()) {
-                List<Map<String, Object>> meals = new ArrayList<>();
-                
-                for (JsonNode meal : mealsNode) {
-                    Map<String, Object> mealData = new HashMap<>();
-                    mealData.put("id", meal.path("id").asInt());
-                    mealData.put("title", meal.path("title").asText());
-                    mealData.put("readyInMinutes", meal.path("readyInMinutes").asInt());
-                    mealData.put("servings", meal.path("servings").asInt());
-                    mealData.put("sourceUrl", meal.path("sourceUrl").asText());
-                    meals.add(mealData);
-                }
-                
-                result.put("meals", meals);
-                logger.info("Successfully processed {} meals from Spoonacular API", meals.size());
-            }
-            
-            JsonNode nutrientsNode = rootNode.path("nutrients");
-            if (!nutrientsNode.isMissingNode()) {
-                Map<String, Object> nutrients = new HashMap<>();
-                nutrients.put("calories", nutrientsNode.path("calories").asDouble());
-                nutrients.put("protein", nutrientsNode.path("protein").asDouble());
-                nutrients.put("fat", nutrientsNode.path("fat").asDouble());
-                nutrients.put("carbohydrates", nutrientsNode.path("carbohydrates").asDouble());
-                result.put("nutrients", nutrients);
-                logger.info("Successfully processed nutrients from Spoonacular API");
-            }
-            
-            // Mark as successful API response
-            result.put("fallback", false);
-            result.put("apiSuccess", true);
-            
-            return result;
-            
-        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
-            logger.error("JSON parsing error processing meal plan response: {}", e.getMessage(), e);
-            return Collections.emptyMap();
-        } catch (RuntimeException e) {
-            logger.error("Runtime error processing meal plan response: {}", e.getMessage(), e);
-            return Collections.emptyMap();
-        }
+    private MealPlan processMealPlanResponse(SpoonacularMealPlanResponse response) {
+        MealPlan plan = MealPlan.fromApi(response.meals(), response.nutrients());
+        logger.info("Successfully processed {} meals from Spoonacular API", plan.meals().size());
+        return plan;
     }
 
-    private Map<String, Object> processNutritionResponse(String jsonResponse) {
-        try {
-            JsonNode rootNode = objectMapper.readTree(jsonResponse);
-            Map<String, Object> result = new HashMap<>();
-            
-            JsonNode resultsNode = rootNode.path("results");
-            if (resultsNode.isArray()) {
-                List<Map<String, Object>> ingredients = new ArrayList<>();
-                
-                for (JsonNode ingredient : resultsNode) {
-                    Map<String, Object> ingredientData = new HashMap<>();
-                    ingredientData.put("id", ingredient.path("id").asInt());
-                    ingredientData.put("name", ingredient.path("name").asText());
-                    ingredientData.put("image", ingredient.path("image").asText());
-                    ingredients.add(ingredientData);
+    private Map<String, Object> processNutritionResponse(List<String> ingredients, Map<String, List<Ingredient>> found) {
+        Map<String, Object> result = new HashMap<>();
+        List<Map<String, Object>> merged = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        
+        // In the order the foods were asked for; the same match for two foods is listed once
+        for (String ingredient : ingredients) {
+            for (Ingredient match : found.getOrDefault(ingredient, List.of())) {
+                if (!seen.add(match.id())) {
+                    continue;
                 }
-                
-                result.put("ingredients", ingredients);
+                Map<String, Object> ingredientData = new HashMap<>();
+                ingredientData.put("id", match.id());
+                ingredientData.put("name", textOrEmpty(match.name()));
+                ingredientData.put("image", textOrEmpty(match.image()));
+                merged.add(ingredientData);
             }
-            
-            return result;
-            
-        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
-            logger.error("JSON parsing error processing nutrition response: {}", e.getMessage());
-            return Collections.emptyMap();
-        } catch (RuntimeException e) {
-            logger.error("Runtime error processing nutrition response: {}", e.getMessage());
-            return Collections.emptyMap();
         }
+        
+        result.put("ingredients", merged);
+        return result;
     }
 
-    private Map<String, Object> createFallbackMealPlan(Map<String, Object> userRequirements) {
+    // Missing text fields were always exposed as "" rather than null
+    private static String textOrEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private MealPlan createFallbackMealPlan(Map<String, Object> userRequirements, int day) {
         logger.warn("Creating fallback meal plan due to Spoonacular API failure");
-        Map<String, Object> fallback = new HashMap<>();
-        
-        // Create realistic meal structure that looks like Spoonacular data
-        List<Map<String, Object>> meals = Arrays.asList(
-            Map.of("id", 715594, "title", "Homemade Gyoza", "readyInMinutes", 45, "servings", 4, 
-                   "sourceUrl", "https://spoonacular.com/homemade-gyoza-715594"),
-            Map.of("id", 782585, "title", "Cannellini Bean and Asparagus Salad", "readyInMinutes", 20, "servings", 2,
-                   "sourceUrl", "https://spoonacular.com/cannellini-bean-and-asparagus-salad-782585"),
-            Map.of("id", 639851, "title", "Creamy Mushroom Pasta", "readyInMinutes", 30, "servings", 3,
-                   "sourceUrl", "https://spoonacular.com/creamy-mushroom-pasta-639851")
-        );
         
-        fallback.put("meals", meals);
-        fallback.put("calories", calculateDailyCalories(userRequirements));
+        int calories = calculateDailyCalories(userRequirements);
+        String diet = getDietaryPreference(userRequirements);
+        List<String> intolerances = getIntolerances(userRequirements);
         
-        // TEMP FIX: Make it appear as successful API call while we debug the real issue
-        fallback.put("fallback", false);  // This will show "Spoonacular API" instead of "Backend Fallback"
-        fallback.put("apiSuccess", true);
-        fallback.put("dataSource", "Spoonacular API (Enhanced Fallback)");
+        // Intolerances are safety constraints, the diet is a preference: relax only the diet
+        Optional<MealPlan> localPlan = localMealPlanner.plan(calories, diet, intolerances, true, day);
+        if (localPlan.isEmpty() && !diet.isEmpty()) {
+            logger.info("No local {} plan avoiding {}, relaxing the diet", diet, intolerances);
+            localPlan = localMealPlanner.plan(calories, "", intolerances, true, day);
+        }
         
-        return fallback;
+        return localPlan.orElseGet(() -> new MealPlan(FALLBACK_MEALS, null, calories, true, false, "Backend Fallback"));
     }
-}
\ No newline at end of file
+}
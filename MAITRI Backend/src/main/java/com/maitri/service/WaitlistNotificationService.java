@@ -0,0 +1,86 @@
+package com.maitri.service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.maitri.event.WaitlistPromotedEvent;
+
+/**
+ * Pushes waitlist promotions to patients over Server-Sent Events,
+ * so waiting patients do not have to keep polling available slots.
+ */
+@Service
+public class WaitlistNotificationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistNotificationService.class);
+    
+    // Clients reconnect automatically when the stream times out
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    
+    private final Map<Long, List<SseEmitter>> emittersByPatient = new ConcurrentHashMap<>();
+    
+    /**
+     * Open an event stream for a patient
+     */
+    public SseEmitter subscribe(Long patientId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        emittersByPatient.compute(patientId, (id, emitters) -> {
+            List<SseEmitter> patientEmitters = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            patientEmitters.add(emitter);
+            return patientEmitters;
+        });
+        
+        Runnable remove = () -> removeEmitter(patientId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+    
+    /**
+     * Tell the promoted patient (once the cancellation has committed) that a slot is held for them
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaitlistPromoted(WaitlistPromotedEvent event) {
+        logger.info("📣 Waitlist promotion: patient {} holds doctor {} on {} at {} until {}",
+                    event.getPatientId(), event.getDoctorId(), event.getDate(), event.getTime(), event.getExpiresAt());
+        
+        List<SseEmitter> emitters = emittersByPatient.get(event.getPatientId());
+        if (emitters == null) {
+            return;
+        }
+        
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("entryId", event.getEntryId());
+        payload.put("holdId", event.getHoldId());
+        payload.put("doctorId", event.getDoctorId());
+        payload.put("date", event.getDate());
+        payload.put("time", event.getTime());
+        payload.put("expiresAt", event.getExpiresAt());
+        
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("waitlist-promoted").data(payload));
+            } catch (IOException | IllegalStateException e) {
+                removeEmitter(event.getPatientId(), emitter);
+            }
+        }
+    }
+    
+    private void removeEmitter(Long patientId, SseEmitter emitter) {
+        emittersByPatient.computeIfPresent(patientId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,194 @@
+package com.maitri.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.maitri.service.SlotHoldService.SlotKey;
+
+/**
+ * In-memory waitlists, one FIFO queue per (doctor, date).
+ * 
+ * Queues are only mutated inside ConcurrentHashMap.compute* for their key, so each
+ * queue is updated atomically without a global lock. Entries are also indexed by id
+ * so patients can leave a waitlist without scanning every queue.
+ */
+@Service
+public class WaitlistService {
+    
+    private final Map<DoctorDay, Deque<WaitlistEntry>> queues = new ConcurrentHashMap<>();
+    private final Map<String, WaitlistEntry> entriesById = new ConcurrentHashMap<>();
+    
+    /**
+     * Add a patient to a doctor's waitlist for a date.
+     * preferredTime may be null for "any slot that day". Joining twice returns the existing entry.
+     */
+    public WaitlistEntry join(Long doctorId, LocalDate date, LocalTime preferredTime, Long patientId) {
+        DoctorDay day = new DoctorDay(doctorId, date);
+        WaitlistEntry[] result = new WaitlistEntry[1];
+        
+        queues.compute(day, (key, queue) -> {
+            Deque<WaitlistEntry> entries = queue != null ? queue : new ArrayDeque<>();
+            for (WaitlistEntry entry : entries) {
+                if (entry.patientId().equals(patientId) && sameTime(entry.preferredTime(), preferredTime)) {
+                    result[0] = entry;
+                    return entries;
+                }
+            }
+            WaitlistEntry entry = new WaitlistEntry(UUID.randomUUID().toString(), doctorId, date,
+                                                    preferredTime, patientId, Instant.now());
+            entries.addLast(entry);
+            entriesById.put(entry.entryId(), entry);
+            result[0] = entry;
+            return entries;
+        });
+        return result[0];
+    }
+    
+    /**
+     * Remove an entry; only the patient who joined can remove it
+     */
+    public boolean leave(String entryId, Long patientId) {
+        WaitlistEntry entry = entriesById.get(entryId);
+        if (entry == null || !entry.patientId().equals(patientId)) {
+            return false;
+        }
+        return removeEntry(entry);
+    }
+    
+    /**
+     * Remove all of a patient's entries for a doctor's day (e.g. once they have booked it)
+     */
+    public void removePatient(Long doctorId, LocalDate date, Long patientId) {
+        queues.computeIfPresent(new DoctorDay(doctorId, date), (key, queue) -> {
+            queue.removeIf(entry -> {
+                if (entry.patientId().equals(patientId)) {
+                    entriesById.remove(entry.entryId());
+                    return true;
+                }
+                return false;
+            });
+            return queue.isEmpty() ? null : queue;
+        });
+    }
+    
+    /**
+     * Take the first waiting patient who would accept this slot off the queue
+     */
+    public Optional<WaitlistEntry> pollFor(SlotKey slot) {
+        WaitlistEntry[] polled = new WaitlistEntry[1];
+        
+        queues.computeIfPresent(new DoctorDay(slot.doctorId(), slot.date()), (key, queue) -> {
+            Iterator<WaitlistEntry> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                WaitlistEntry entry = iterator.next();
+                if (entry.preferredTime() == null || entry.preferredTime().equals(slot.time())) {
+                    iterator.remove();
+                    entriesById.remove(entry.entryId());
+                    polled[0] = entry;
+                    break;
+                }
+            }
+            return queue.isEmpty() ? null : queue;
+        });
+        return Optional.ofNullable(polled[0]);
+    }
+    
+    /**
+     * Put a polled entry back at the head of its queue (promotion did not go through)
+     */
+    public void requeueFirst(WaitlistEntry entry) {
+        queues.compute(new DoctorDay(entry.doctorId(), entry.date()), (key, queue) -> {
+            Deque<WaitlistEntry> entries = queue != null ? queue : new ArrayDeque<>();
+            entries.addFirst(entry);
+            entriesById.put(entry.entryId(), entry);
+            return entries;
+        });
+    }
+    
+    /**
+     * 1-based position of an entry in its queue, or -1 if it is no longer waiting
+     */
+    public int positionOf(WaitlistEntry entry) {
+        int[] position = {-1};
+        queues.computeIfPresent(new DoctorDay(entry.doctorId(), entry.date()), (key, queue) -> {
+            int index = 1;
+            for (WaitlistEntry queued : queue) {
+                if (queued.entryId().equals(entry.entryId())) {
+                    position[0] = index;
+                    break;
+                }
+                index++;
+            }
+            return queue;
+        });
+        return position[0];
+    }
+    
+    /**
+     * All entries a patient is currently waiting on
+     */
+    public List<WaitlistEntry> getEntriesForPatient(Long patientId) {
+        List<WaitlistEntry> entries = new ArrayList<>();
+        for (WaitlistEntry entry : entriesById.values()) {
+            if (entry.patientId().equals(patientId)) {
+                entries.add(entry);
+            }
+        }
+        entries.sort((a, b) -> a.joinedAt().compareTo(b.joinedAt()));
+        return entries;
+    }
+    
+    /**
+     * Drop queues for days that have already passed
+     */
+    public int purgePastDays(LocalDate today) {
+        int removed = 0;
+        for (DoctorDay day : queues.keySet()) {
+            if (day.date().isBefore(today)) {
+                Deque<WaitlistEntry> queue = queues.remove(day);
+                if (queue != null) {
+                    queue.forEach(entry -> entriesById.remove(entry.entryId()));
+                    removed += queue.size();
+                }
+            }
+        }
+        return removed;
+    }
+    
+    private boolean removeEntry(WaitlistEntry entry) {
+        boolean[] removed = new boolean[1];
+        queues.computeIfPresent(new DoctorDay(entry.doctorId(), entry.date()), (key, queue) -> {
+            removed[0] = queue.remove(entry);
+            return queue.isEmpty() ? null : queue;
+        });
+        entriesById.remove(entry.entryId());
+        return removed[0];
+    }
+    
+    private static boolean sameTime(LocalTime a, LocalTime b) {
+        return a == null ? b == null : a.equals(b);
+    }
+    
+    /**
+     * Key of a waitlist queue
+     */
+    public record DoctorDay(Long doctorId, LocalDate date) {}
+    
+    /**
+     * A patient waiting for a slot with a doctor on a date
+     */
+    public record WaitlistEntry(String entryId, Long doctorId, LocalDate date, LocalTime preferredTime,
+                                Long patientId, Instant joinedAt) {}
+}
@@ -0,0 +1,227 @@
+package com.maitri.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Fails calls fast while a downstream service is unhealthy instead of letting each one wait
+ * for its timeout.
+ *
+ * CLOSED: calls go through and outcomes are kept in a sliding window of the last windowSize
+ * calls; once at least minimumCalls are recorded and the failure rate reaches the threshold the
+ * circuit opens. OPEN: calls are rejected immediately with CallNotPermittedException until
+ * openDuration has passed. HALF_OPEN: up to halfOpenProbes trial calls are let through; one
+ * failure opens the circuit again, all succeeding closes it.
+ *
+ * Errors matching ignore (e.g. the call was refused locally and never reached the service)
+ * count as neither success nor failure. Outcomes of calls started before the last state change
+ * are ignored too, so a slow call from before the circuit opened cannot close or reopen it.
+ */
+public class CircuitBreaker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+    
+    /**
+     * Thresholds; failureRatePercent is compared against failed calls in the window
+     */
+    public record Config(int windowSize, int minimumCalls, int failureRatePercent,
+                         Duration openDuration, int halfOpenProbes) {
+        
+        public Config {
+            if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenProbes < 1) {
+                throw new IllegalArgumentException("windowSize, minimumCalls and halfOpenProbes must be at least 1, minimumCalls at most windowSize");
+            }
+            if (failureRatePercent < 1 || failureRatePercent > 100) {
+                throw new IllegalArgumentException("failureRatePercent must be between 1 and 100");
+            }
+        }
+    }
+    
+    /**
+     * Signals that the call was not attempted because the circuit is open
+     */
+    public static class CallNotPermittedException extends RuntimeException {
+        public CallNotPermittedException(String name) {
+            super("Circuit '" + name + "' is open");
+        }
+    }
+    
+    private final String name;
+    private final Config config;
+    private final Predicate<Throwable> recordAsFailure;
+    private final Predicate<Throwable> ignore;
+    private final Clock clock;
+    
+    // Guarded by this
+    private State state = State.CLOSED;
+    private long generation;
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private Instant openedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+    
+    private final LongAdder successfulCalls = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+    private final LongAdder notPermittedCalls = new LongAdder();
+    private final LongAdder timesOpened = new LongAdder();
+    
+    public CircuitBreaker(String name, Config config, Predicate<Throwable> recordAsFailure, Predicate<Throwable> ignore) {
+        this(name, config, recordAsFailure, ignore, Clock.systemUTC());
+    }
+    
+    public CircuitBreaker(String name, Config config, Predicate<Throwable> recordAsFailure,
+                          Predicate<Throwable> ignore, Clock clock) {
+        this.name = name;
+        this.config = config;
+        this.recordAsFailure = recordAsFailure;
+        this.ignore = ignore;
+        this.clock = clock;
+        this.window = new boolean[config.windowSize()];
+    }
+    
+    /**
+     * Run call if the circuit allows it, recording its outcome; otherwise fail with CallNotPermittedException
+     */
+    public <T> Mono<T> protect(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long permit = tryAcquirePermission();
+            if (permit < 0) {
+                notPermittedCalls.increment();
+                return Mono.error(new CallNotPermittedException(name));
+            }
+            return Mono.defer(call)
+                    .doOnSuccess(value -> onResult(permit, false))
+                    .doOnError(error -> {
+                        if (ignore.test(error)) {
+                            releasePermit(permit);
+                        } else {
+                            onResult(permit, recordAsFailure.test(error));
+                        }
+                    })
+                    .doOnCancel(() -> releasePermit(permit));
+        });
+    }
+    
+    public synchronized State getState() {
+        transitionToHalfOpenIfDue();
+        return state;
+    }
+    
+    /**
+     * Current state, failure rate over the window and call counters
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            transitionToHalfOpenIfDue();
+            stats.put("state", state.name());
+            stats.put("bufferedCalls", windowCalls);
+            stats.put("failureRatePercent", windowCalls > 0 ? windowFailures * 100.0 / windowCalls : 0.0);
+            stats.put("openUntil", state == State.OPEN ? openedAt.plus(config.openDuration()).toString() : null);
+        }
+        stats.put("failureRateThresholdPercent", config.failureRatePercent());
+        stats.put("successfulCalls", successfulCalls.sum());
+        stats.put("failedCalls", failedCalls.sum());
+        stats.put("notPermittedCalls", notPermittedCalls.sum());
+        stats.put("timesOpened", timesOpened.sum());
+        return stats;
+    }
+    
+    // Generation the permit belongs to, or -1 when the call must not be attempted
+    private synchronized long tryAcquirePermission() {
+        transitionToHalfOpenIfDue();
+        switch (state) {
+            case CLOSED:
+                return generation;
+            case HALF_OPEN:
+                if (probesIssued < config.halfOpenProbes()) {
+                    probesIssued++;
+                    return generation;
+                }
+                return -1;
+            default:
+                return -1;
+        }
+    }
+    
+    private synchronized void onResult(long permit, boolean failed) {
+        (failed ? failedCalls : successfulCalls).increment();
+        if (permit != generation) {
+            return;
+        }
+        
+        if (state == State.HALF_OPEN) {
+            if (failed) {
+                transitionTo(State.OPEN);
+            } else if (++probesSucceeded >= config.halfOpenProbes()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        
+        if (windowCalls == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+        
+        if (windowCalls >= config.minimumCalls() && windowFailures * 100 >= config.failureRatePercent() * windowCalls) {
+            transitionTo(State.OPEN);
+        }
+    }
+    
+    // A cancelled or ignored probe frees its slot so the half-open state can't get stuck
+    private synchronized void releasePermit(long permit) {
+        if (permit == generation && state == State.HALF_OPEN && probesIssued > probesSucceeded) {
+            probesIssued--;
+        }
+    }
+    
+    private void transitionToHalfOpenIfDue() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(config.openDuration()))) {
+            transitionTo(State.HALF_OPEN);
+        }
+    }
+    
+    private void transitionTo(State next) {
+        logger.warn("⚡ Circuit '{}' {} -> {}", name, state, next);
+        state = next;
+        generation++;
+        probesIssued = 0;
+        probesSucceeded = 0;
+        if (next == State.OPEN) {
+            openedAt = clock.instant();
+            timesOpened.increment();
+        }
+        if (next == State.CLOSED) {
+            windowIndex = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.maitri.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller issues the call and
+ * everyone who asks for the same key while it is in flight shares its result (or error).
+ * Once the call finishes the key is free again, so results are never served stale.
+ *
+ * Results are shared by reference; callers that mutate them must copy first.
+ */
+public class SingleFlight<K, V> {
+    
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    
+    /**
+     * Run call for key, or join the identical call already in flight
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            AtomicBoolean leader = new AtomicBoolean();
+            Mono<V> flight = inFlight.computeIfAbsent(key, k -> {
+                leader.set(true);
+                return newFlight(k, call);
+            });
+            (leader.get() ? issued : coalesced).increment();
+            return flight;
+        });
+    }
+    
+    // Cached so every subscriber sees the single upstream result; removes itself when done
+    private Mono<V> newFlight(K key, Supplier<Mono<V>> call) {
+        AtomicReference<Mono<V>> self = new AtomicReference<>();
+        Mono<V> flight = Mono.defer(call)
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache();
+        self.set(flight);
+        return flight;
+    }
+    
+    /**
+     * Calls issued upstream vs. calls that joined one already in flight
+     */
+    public Map<String, Object> stats() {
+        long issuedCount = issued.sum();
+        long coalescedCount = coalesced.sum();
+        long total = issuedCount + coalescedCount;
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("issued", issuedCount);
+        stats.put("coalesced", coalescedCount);
+        stats.put("coalescedRatio", total > 0 ? (double) coalescedCount / total : 0.0);
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+}
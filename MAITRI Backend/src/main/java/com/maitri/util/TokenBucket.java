@@ -0,0 +1,77 @@
+package com.maitri.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter: holds up to capacity tokens and refills continuously at
+ * refillPerSecond. Reservations may take the count below zero, so later callers queue behind them.
+ * Thread-safe; all state is guarded by the instance lock.
+ */
+public class TokenBucket {
+    
+    private final double capacity;
+    private final double refillPerNano;
+    private final LongSupplier nanoClock;
+    
+    private double tokens;
+    private long lastRefill;
+    
+    public TokenBucket(double capacity, double refillPerSecond) {
+        this(capacity, refillPerSecond, System::nanoTime);
+    }
+    
+    public TokenBucket(double capacity, double refillPerSecond, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity must be at least 1 and refillPerSecond positive");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+    
+    /**
+     * Take permits if at least reserve tokens would still be left afterwards
+     */
+    public synchronized boolean tryAcquire(double permits, double reserve) {
+        refill();
+        if (tokens - permits < reserve) {
+            return false;
+        }
+        tokens -= permits;
+        return true;
+    }
+    
+    /**
+     * Take permits now, borrowing against the refill when the bucket is short: returns how many
+     * nanoseconds the caller must wait before using them, or -1 (nothing taken) if that exceeds maxWaitNanos
+     */
+    public synchronized long reserve(double permits, long maxWaitNanos) {
+        long waitNanos = nanosUntil(permits);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens -= permits;
+        return waitNanos;
+    }
+    
+    /**
+     * Nanoseconds until at least the given number of tokens will be available (0 if they are now)
+     */
+    public synchronized long nanosUntil(double wanted) {
+        refill();
+        return tokens >= wanted ? 0 : (long) Math.ceil((wanted - tokens) / refillPerNano);
+    }
+    
+    public synchronized double available() {
+        refill();
+        return tokens;
+    }
+    
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,129 @@
+package com.maitri.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small in-memory cache bounded by entry count (least recently used entries go first)
+ * and by time to live. Thread-safe; all map access is guarded by the instance lock.
+ */
+public class TtlCache<K, V> {
+    
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    
+    private final LinkedHashMap<K, Entry<V>> entries;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    
+    public record Entry<V>(V value, Instant expiresAt) {
+    }
+    
+    public TtlCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+    
+    public TtlCache(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > TtlCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Cached value for the key, if present and not expired
+     */
+    public synchronized Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt().isAfter(clock.instant())) {
+            hits.increment();
+            return Optional.of(entry.value());
+        }
+        if (entry != null) {
+            entries.remove(key);
+            expirations.increment();
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+    
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.instant().plus(ttl)));
+    }
+    
+    /**
+     * Restore an entry with its original expiry (e.g. loaded from disk); expired entries are ignored
+     */
+    public synchronized void restore(K key, V value, Instant expiresAt) {
+        if (expiresAt.isAfter(clock.instant())) {
+            entries.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+    
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+    
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+    
+    /**
+     * Unexpired entries, least recently used first
+     */
+    public synchronized List<Map.Entry<K, Entry<V>>> snapshot() {
+        Instant now = clock.instant();
+        List<Map.Entry<K, Entry<V>>> live = new ArrayList<>();
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            if (entry.getValue().expiresAt().isAfter(now)) {
+                live.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        return live;
+    }
+    
+    /**
+     * Size, limits and hit/miss counters
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttl.toSeconds());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups > 0 ? (double) hitCount / lookups : 0.0);
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        return stats;
+    }
+}
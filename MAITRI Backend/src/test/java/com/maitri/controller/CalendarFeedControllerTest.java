@@ -0,0 +1,95 @@
+package com.maitri.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.maitri.service.BookingIcsFeedService;
+import com.maitri.service.BookingIcsFeedService.FeedVersion;
+import com.maitri.service.BookingIcsFeedService.Owner;
+
+/**
+ * Tests for conditional requests on the iCalendar feeds
+ */
+@ExtendWith(MockitoExtension.class)
+class CalendarFeedControllerTest {
+
+    private static final Instant LAST_MODIFIED = Instant.parse("2030-01-10T09:00:00Z");
+    private static final FeedVersion VERSION = new FeedVersion(LocalDate.of(2030, 1, 1), 3, LAST_MODIFIED);
+    private static final String ETAG = VERSION.etag(Owner.PATIENT, 5L);
+
+    @Mock
+    private BookingIcsFeedService bookingIcsFeedService;
+
+    @InjectMocks
+    private CalendarFeedController calendarFeedController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(calendarFeedController).build();
+        when(bookingIcsFeedService.getVersion(Owner.PATIENT, 5L)).thenReturn(VERSION);
+    }
+
+    @Test
+    @DisplayName("A matching If-None-Match gets 304 without the feed being written")
+    void matchingEtagIsNotModified() throws Exception {
+        mockMvc.perform(get("/api/calendar/patients/5/bookings.ics").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+
+        verify(bookingIcsFeedService, never()).write(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("If-Modified-Since at the feed's last change gets 304")
+    void unchangedSinceIsNotModified() throws Exception {
+        String since = DateTimeFormatter.RFC_1123_DATE_TIME.format(LAST_MODIFIED.atZone(ZoneOffset.UTC));
+
+        mockMvc.perform(get("/api/calendar/patients/5/bookings.ics").header(HttpHeaders.IF_MODIFIED_SINCE, since))
+                .andExpect(status().isNotModified());
+
+        verify(bookingIcsFeedService, never()).write(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("A stale ETag gets the full feed streamed")
+    void staleEtagStreamsFeed() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/calendar/patients/5/bookings.ics")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"patient-5-old\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/calendar;charset=UTF-8"));
+
+        verify(bookingIcsFeedService).write(eq(Owner.PATIENT), eq(5L), eq(VERSION), any());
+    }
+}
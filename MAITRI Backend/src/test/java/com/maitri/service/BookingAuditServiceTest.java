@@ -0,0 +1,110 @@
+package com.maitri.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.maitri.event.BookingStatusChangedEvent;
+import com.maitri.model.Booking;
+
+/**
+ * Tests for buffered, batch-inserted booking status history
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingAuditServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BookingAuditService bookingAuditService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingAuditService, "batchSize", 2);
+        ReflectionTestUtils.setField(bookingAuditService, "maxBuffered", 3);
+    }
+
+    @Test
+    @DisplayName("Buffered transitions are written in batches of the configured size")
+    void flushWritesInBatches() {
+        for (long id = 1; id <= 3; id++) {
+            bookingAuditService.onStatusChanged(event(id));
+        }
+
+        List<Integer> batchSizes = recordBatchSizes();
+        bookingAuditService.flush();
+
+        assertEquals(List.of(2, 1), batchSizes);
+        assertEquals(0, bookingAuditService.getBufferedCount());
+    }
+
+    @Test
+    @DisplayName("A failed batch is kept and retried on the next flush")
+    void failedBatchIsRetried() {
+        bookingAuditService.onStatusChanged(event(1L));
+        doThrow(new DataAccessResourceFailureException("db down"))
+                .doReturn(new int[][] {{1}})
+                .when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+
+        bookingAuditService.flush();
+        assertEquals(1, bookingAuditService.getBufferedCount());
+
+        bookingAuditService.flush();
+        assertEquals(0, bookingAuditService.getBufferedCount());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyCollection(), anyInt(),
+                ArgumentMatchers.<ParameterizedPreparedStatementSetter<BookingStatusChangedEvent>>any());
+    }
+
+    @Test
+    @DisplayName("Oldest entries are dropped once the buffer is full")
+    void bufferIsBounded() {
+        for (long id = 1; id <= 5; id++) {
+            bookingAuditService.onStatusChanged(event(id));
+        }
+
+        assertEquals(3, bookingAuditService.getBufferedCount());
+    }
+
+    // The service reuses its batch list, so sizes are recorded at call time
+    private List<Integer> recordBatchSizes() {
+        List<Integer> sizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            sizes.add(invocation.<Collection<?>>getArgument(1).size());
+            return new int[][] {};
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        return sizes;
+    }
+
+    private static BookingStatusChangedEvent event(Long bookingId) {
+        Booking booking = new Booking(1L, "Dr. Test", 2L, "Patient", "p@example.com",
+                LocalDate.of(2030, 1, 15), LocalTime.of(10, 0), "video", null, null, "confirmed", null, "INR");
+        booking.setId(bookingId);
+        return new BookingStatusChangedEvent(booking, "pending");
+    }
+}
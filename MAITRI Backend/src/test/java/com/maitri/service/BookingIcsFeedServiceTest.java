@@ -0,0 +1,94 @@
+package com.maitri.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.maitri.service.BookingIcsFeedService.FeedVersion;
+import com.maitri.service.BookingIcsFeedService.Owner;
+
+/**
+ * Tests for the iCalendar feed's line folding and text escaping
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingIcsFeedServiceTest {
+
+    // 3 octets per Devanagari character (4 for the emoji), so the SUMMARY line folds more than once
+    private static final String PATIENT_NAME = "श्रीमती लक्ष्मी देवी शर्मा, \"Lakshmi\"; ग्राम\\पुर\nवाराणसी 🌸";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BookingIcsFeedService bookingIcsFeedService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingIcsFeedService, "pastDays", 90);
+        ReflectionTestUtils.setField(bookingIcsFeedService, "appointmentMinutes", 30);
+        ReflectionTestUtils.setField(bookingIcsFeedService, "fetchSize", 500);
+    }
+
+    @Test
+    @DisplayName("Long multi-byte lines fold within 75 octets and unfold back to the escaped text")
+    void foldsAndEscapesLongNames() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getTimestamp("starts_at")).thenReturn(Timestamp.from(Instant.parse("2030-01-15T04:30:00Z")));
+        when(row.getTimestamp("updated_at")).thenReturn(Timestamp.from(Instant.parse("2030-01-10T09:00:00Z")));
+        when(row.getString("consultation_type")).thenReturn("video");
+        when(row.getString("patient_name")).thenReturn(PATIENT_NAME);
+        when(row.getString("status")).thenReturn("pending");
+        when(row.getLong("id")).thenReturn(42L);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingIcsFeedService.write(Owner.DOCTOR, 1L, new FeedVersion(LocalDate.of(2030, 1, 1), 1, null), out);
+        String feed = out.toString(StandardCharsets.UTF_8);
+
+        List<String> physicalLines = List.of(feed.split("\r\n"));
+        for (String line : physicalLines) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, "longer than 75 octets: " + line);
+        }
+        assertTrue(physicalLines.stream().filter(line -> line.startsWith(" ")).count() >= 2);
+
+        List<String> contentLines = List.of(feed.replace("\r\n ", "").split("\r\n"));
+        String escapedName = "श्रीमती लक्ष्मी देवी शर्मा\\, \"Lakshmi\"\\; ग्राम\\\\पुर\\nवाराणसी 🌸";
+        assertTrue(contentLines.contains("SUMMARY:Consultation: " + escapedName + " (video)"),
+                contentLines.stream().filter(line -> line.startsWith("SUMMARY")).collect(Collectors.joining()));
+        assertTrue(contentLines.contains("STATUS:TENTATIVE"));
+        assertTrue(contentLines.contains("DTSTART:20300115T043000Z"));
+        assertTrue(contentLines.contains("DTEND:20300115T050000Z"));
+        assertEquals("END:VCALENDAR", contentLines.get(contentLines.size() - 1));
+    }
+}
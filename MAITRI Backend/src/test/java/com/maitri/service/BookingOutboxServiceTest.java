@@ -0,0 +1,79 @@
+package com.maitri.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.maitri.model.Booking;
+import com.maitri.model.BookingOutboxEvent;
+import com.maitri.repository.BookingOutboxEventRepository;
+
+/**
+ * Tests for the notifications queued on booking status changes
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingOutboxServiceTest {
+
+    private static final List<String> REMINDER_TYPES = List.of(BookingOutboxEvent.REMINDER_24H, BookingOutboxEvent.REMINDER_1H);
+
+    @Mock
+    private BookingOutboxEventRepository outboxEventRepository;
+
+    @InjectMocks
+    private BookingOutboxService bookingOutboxService;
+
+    @Test
+    @DisplayName("Moving a confirmed booking back to pending cancels its queued reminders")
+    void unconfirmingCancelsReminders() {
+        bookingOutboxService.recordStatusChange(booking("pending"), "confirmed");
+
+        verify(outboxEventRepository).cancelPending(7L, REMINDER_TYPES);
+        verify(outboxEventRepository, never()).saveAll(anyList());
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Confirming drops leftover reminders before queuing one reminder of each kind")
+    @SuppressWarnings("unchecked")
+    void confirmingQueuesOneSetOfReminders() {
+        bookingOutboxService.recordStatusChange(booking("confirmed"), "pending");
+
+        ArgumentCaptor<Iterable<BookingOutboxEvent>> saved = ArgumentCaptor.forClass(Iterable.class);
+        InOrder order = inOrder(outboxEventRepository);
+        order.verify(outboxEventRepository).cancelPending(7L, REMINDER_TYPES);
+        order.verify(outboxEventRepository).saveAll(saved.capture());
+
+        List<BookingOutboxEvent> events = StreamSupport.stream(saved.getValue().spliterator(), false)
+                .collect(Collectors.toList());
+        assertEquals(List.of(BookingOutboxEvent.BOOKING_CONFIRMED, BookingOutboxEvent.REMINDER_24H, BookingOutboxEvent.REMINDER_1H),
+                events.stream().map(BookingOutboxEvent::getEventType).collect(Collectors.toList()));
+        assertEquals("7:" + BookingOutboxEvent.REMINDER_24H, events.get(1).getDedupeKey());
+        assertNull(events.get(0).getDedupeKey());
+    }
+
+    private static Booking booking(String status) {
+        Booking booking = new Booking(1L, "Dr. Test", 2L, "Patient", "p@example.com",
+                LocalDate.of(2030, 1, 15), LocalTime.of(10, 0), "video", null, null, status, null, "INR");
+        booking.setId(7L);
+        return booking;
+    }
+}
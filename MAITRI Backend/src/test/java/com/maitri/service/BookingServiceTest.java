@@ -0,0 +1,158 @@
+package com.maitri.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.maitri.dto.BookingSeriesRequest;
+import com.maitri.dto.BookingSeriesResponse;
+import com.maitri.dto.BookingSeriesResponse.Conflict;
+import com.maitri.dto.DoctorResponse;
+import com.maitri.model.Booking;
+import com.maitri.repository.BookingRepository;
+import com.maitri.service.SlotHoldService.SlotKey;
+
+/**
+ * Tests for booking recurring series
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingServiceTest {
+
+    private static final LocalTime TIME = LocalTime.of(10, 0);
+    private static final LocalDate START = LocalDate.now().plusWeeks(1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SlotHoldService slotHoldService;
+
+    @Mock
+    private DoctorScheduleService doctorScheduleService;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private BookingOutboxService bookingOutboxService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DoctorDirectoryService doctorDirectoryService;
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        DoctorResponse doctor = new DoctorResponse();
+        doctor.setId(1L);
+        doctor.setName("Dr. Test");
+        doctor.setConsultationTypes(List.of("video"));
+        doctor.setCurrency("INR");
+        when(doctorDirectoryService.findActive(1L)).thenReturn(Optional.of(doctor));
+    }
+
+    @Test
+    @DisplayName("Each conflicting occurrence is reported with its own reason and nothing is booked by default")
+    void conflictsRejectWholeSeries() {
+        stubOneConflictOfEachKind();
+
+        BookingSeriesResponse response = bookingService.createSeries(request(4, false));
+
+        assertNull(response.getSeriesId());
+        assertEquals(List.of(), response.getBookings());
+        assertEquals(List.of(START, START.plusWeeks(1), START.plusWeeks(2)),
+                response.getConflicts().stream().map(Conflict::getDate).collect(Collectors.toList()));
+        assertEquals("Dr. Test is not available at this time", response.getConflicts().get(0).getReason());
+        assertEquals("This time slot is already booked", response.getConflicts().get(1).getReason());
+        assertEquals("Held by another patient", response.getConflicts().get(2).getReason());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+        verify(slotHoldService).releaseSlot(new SlotKey(1L, START.plusWeeks(3), TIME), 2L);
+    }
+
+    @Test
+    @DisplayName("With skipConflicts the free occurrences are booked in one batch and the conflicts still reported")
+    void skipConflictsBooksFreeOccurrences() {
+        stubOneConflictOfEachKind();
+        when(bookingRepository.findBySeriesIdOrderByStartsAt(anyString())).thenReturn(List.of());
+
+        BookingSeriesResponse response = bookingService.createSeries(request(4, true));
+
+        assertEquals(3, response.getConflicts().size());
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(List.of(START.plusWeeks(3))), eq(1), any());
+        verify(bookingRepository).findBySeriesIdOrderByStartsAt(response.getSeriesId());
+    }
+
+    @Test
+    @DisplayName("A series starting today at a time already gone is rejected")
+    void startTimeInThePastIsRejected() {
+        BookingSeriesRequest request = request(2, false);
+        request.setStartDate(LocalDate.now());
+        request.setTime(LocalTime.MIDNIGHT);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> bookingService.createSeries(request));
+
+        assertEquals("A series cannot start in the past", error.getMessage());
+        verifyNoInteractions(bookingRepository, slotHoldService, jdbcTemplate);
+    }
+
+    // Week 0 is off the doctor's schedule, week 1 is booked, week 2 is held by someone else, week 3 is free
+    private void stubOneConflictOfEachKind() {
+        when(doctorScheduleService.isBookable(eq(1L), any(LocalDate.class), eq(TIME)))
+                .thenAnswer(invocation -> !invocation.getArgument(1).equals(START));
+        when(bookingRepository.findTakenStartsAt(eq(1L), anyList()))
+                .thenReturn(List.of(Booking.toStartsAt(START.plusWeeks(1), TIME)));
+        when(slotHoldService.hold(any(SlotKey.class), eq(2L))).thenAnswer(invocation -> {
+            if (invocation.<SlotKey>getArgument(0).date().equals(START.plusWeeks(2))) {
+                throw new RuntimeException("Held by another patient");
+            }
+            return null;
+        });
+    }
+
+    private static BookingSeriesRequest request(int occurrences, boolean skipConflicts) {
+        BookingSeriesRequest request = new BookingSeriesRequest();
+        request.setDoctorId(1L);
+        request.setPatientId(2L);
+        request.setPatientName("Patient");
+        request.setPatientEmail("p@example.com");
+        request.setStartDate(START);
+        request.setTime(TIME);
+        request.setOccurrences(occurrences);
+        request.setIntervalWeeks(1);
+        request.setConsultationType("video");
+        request.setSkipConflicts(skipConflicts);
+        return request;
+    }
+}
@@ -0,0 +1,75 @@
+package com.maitri.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.maitri.event.BookingStatusChangedEvent;
+import com.maitri.model.Booking;
+import com.maitri.repository.BookingRepository;
+import com.maitri.repository.BookingRepository.StatusCount;
+
+/**
+ * Tests for the in-memory booking status snapshot
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingStatisticsServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private BookingStatisticsService bookingStatisticsService;
+
+    @Test
+    @DisplayName("Resync replaces the snapshot and keeps status changes that arrive during the query")
+    void resyncKeepsConcurrentChanges() {
+        when(bookingRepository.countGroupedByStatus()).thenReturn(List.of(count("pending", 4L), count("confirmed", 2L)));
+        bookingStatisticsService.resync();
+
+        // Committed after the GROUP BY read its rows, so missing from the second query's counts
+        when(bookingRepository.countGroupedByStatus()).thenAnswer(invocation -> {
+            bookingStatisticsService.onStatusChanged(confirmed());
+            return List.of(count("pending", 4L), count("confirmed", 2L));
+        });
+        bookingStatisticsService.resync();
+
+        Map<String, Long> counts = bookingStatisticsService.getStatusCounts();
+        assertEquals(3L, counts.get("pending"));
+        assertEquals(3L, counts.get("confirmed"));
+        assertEquals(0L, counts.get("cancelled"));
+        assertEquals(6L, counts.get("total"));
+    }
+
+    private static StatusCount count(String status, Long count) {
+        return new StatusCount() {
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private static BookingStatusChangedEvent confirmed() {
+        Booking booking = new Booking(1L, "Dr. Test", 2L, "Patient", "p@example.com",
+                LocalDate.of(2030, 1, 15), LocalTime.of(10, 0), "video", null, null, "confirmed", null, "INR");
+        booking.setId(1L);
+        return new BookingStatusChangedEvent(booking, "pending");
+    }
+}
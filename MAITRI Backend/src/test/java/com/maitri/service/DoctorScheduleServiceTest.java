@@ -0,0 +1,75 @@
+package com.maitri.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.maitri.model.DoctorScheduleDay;
+import com.maitri.repository.DoctorScheduleDayRepository;
+import com.maitri.repository.DoctorScheduleExceptionRepository;
+
+/**
+ * Tests for compiling doctors' schedules into bookable slots
+ */
+@ExtendWith(MockitoExtension.class)
+class DoctorScheduleServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private DoctorScheduleDayRepository scheduleDayRepository;
+
+    @Mock
+    private DoctorScheduleExceptionRepository scheduleExceptionRepository;
+
+    @InjectMocks
+    private DoctorScheduleService doctorScheduleService;
+
+    @Test
+    @DisplayName("Without a template a doctor has 30-minute slots from 9:00 with the last one at 18:00")
+    void defaultScheduleEndsWithSixPmSlot() {
+        when(scheduleDayRepository.findByDoctorId(1L)).thenReturn(List.of());
+        when(scheduleExceptionRepository.findByDoctorIdAndDateGreaterThanEqualOrderByDate(eq(1L), any())).thenReturn(List.of());
+
+        List<LocalTime> slots = doctorScheduleService.getSlots(1L, MONDAY);
+
+        assertEquals(19, slots.size());
+        assertEquals(LocalTime.of(9, 0), slots.get(0));
+        assertEquals(LocalTime.of(18, 0), slots.get(slots.size() - 1));
+        assertFalse(doctorScheduleService.isBookable(1L, MONDAY, LocalTime.of(18, 30)));
+    }
+
+    @Test
+    @DisplayName("Slots overlapping the break are skipped and slots resume when it ends; the schedule is compiled once")
+    void breakWindowIsSkipped() {
+        // 20-minute slots with a 12:50-14:00 break: 12:40 would run into it, so the next slot is 14:00
+        DoctorScheduleDay monday = new DoctorScheduleDay(1L, DayOfWeek.MONDAY, LocalTime.of(12, 0), LocalTime.of(15, 0), 20,
+                LocalTime.of(12, 50), LocalTime.of(14, 0));
+        when(scheduleDayRepository.findByDoctorId(1L)).thenReturn(List.of(monday));
+        when(scheduleExceptionRepository.findByDoctorIdAndDateGreaterThanEqualOrderByDate(eq(1L), any())).thenReturn(List.of());
+
+        assertEquals(List.of(LocalTime.of(12, 0), LocalTime.of(12, 20), LocalTime.of(14, 0), LocalTime.of(14, 20),
+                LocalTime.of(14, 40)), doctorScheduleService.getSlots(1L, MONDAY));
+        assertTrue(doctorScheduleService.getSlots(1L, MONDAY.plusDays(1)).isEmpty());
+        assertFalse(doctorScheduleService.isBookable(1L, MONDAY, LocalTime.of(12, 40)));
+
+        verify(scheduleDayRepository, times(1)).findByDoctorId(1L);
+    }
+}
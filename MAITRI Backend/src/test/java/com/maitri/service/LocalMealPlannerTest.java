@@ -0,0 +1,101 @@
+package com.maitri.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.maitri.dto.Meal;
+import com.maitri.dto.MealPlan;
+
+/**
+ * Tests for the local meal planner against the bundled recipe catalog
+ */
+class LocalMealPlannerTest {
+
+    private LocalRecipeCatalog catalog;
+    private LocalMealPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new LocalRecipeCatalog();
+        catalog.load();
+        planner = new LocalMealPlanner();
+        ReflectionTestUtils.setField(planner, "catalog", catalog);
+    }
+
+    @Test
+    @DisplayName("Plans land close to the calorie target across the usual range")
+    void meetsCalorieTarget() {
+        for (int target = 1400; target <= 2800; target += 200) {
+            MealPlan plan = planner.plan(target, "", List.of(), true).orElseThrow();
+
+            assertTrue(plan.meals().size() >= 3);
+            assertEquals(target, plan.calories());
+            assertTrue(Math.abs(plan.nutrients().calories() - target) <= target * 0.1,
+                    "planned " + plan.nutrients().calories() + " kcal for " + target);
+            assertTrue(plan.fallback());
+            assertFalse(plan.apiSuccess());
+        }
+    }
+
+    @Test
+    @DisplayName("Every planned recipe fits the diet and avoids the intolerances")
+    void respectsDietAndIntolerances() {
+        assertPlanFits(1800, "vegan", List.of("peanut", "soy"));
+        assertPlanFits(2000, "ketogenic", List.of("dairy"));
+        assertPlanFits(2200, "", List.of("gluten", "seafood"));
+    }
+
+    @Test
+    @DisplayName("Days of a weekly plan don't repeat recipes while alternatives exist")
+    void weeklyDaysVary() {
+        Set<Integer> recipeIds = new HashSet<>();
+        int recipeCount = 0;
+        for (int day = 1; day <= 7; day++) {
+            MealPlan plan = planner.plan(2000, "vegetarian", List.of(), false, day).orElseThrow();
+            for (Meal meal : plan.meals()) {
+                recipeIds.add(meal.id());
+                recipeCount++;
+            }
+            assertTrue(Math.abs(plan.nutrients().calories() - 2000) <= 200);
+        }
+        assertEquals(recipeCount, recipeIds.size());
+    }
+
+    @Test
+    @DisplayName("No plan when the catalog has nothing for the diet")
+    void emptyForUnknownDiet() {
+        assertTrue(planner.plan(2000, "whole30", List.of(), true).isEmpty());
+    }
+
+    private void assertPlanFits(int target, String diet, List<String> intolerances) {
+        MealPlan plan = planner.plan(target, diet, intolerances, false).orElseThrow();
+        int requiredDiets = LocalRecipeCatalog.dietMask(diet);
+        int excludedAllergens = LocalRecipeCatalog.allergenMask(intolerances);
+
+        for (Meal meal : plan.meals()) {
+            assertTrue(isCandidate(meal.id(), requiredDiets, excludedAllergens),
+                    meal.title() + " does not fit " + diet + " without " + intolerances);
+        }
+    }
+
+    private boolean isCandidate(int recipeId, int requiredDiets, int excludedAllergens) {
+        for (LocalRecipeCatalog.MealType type : LocalRecipeCatalog.MealType.values()) {
+            for (int recipe : catalog.candidates(type, requiredDiets, excludedAllergens)) {
+                if (catalog.id(recipe) == recipeId) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
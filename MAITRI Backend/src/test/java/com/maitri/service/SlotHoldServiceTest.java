@@ -0,0 +1,80 @@
+package com.maitri.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.maitri.service.SlotHoldService.SlotHold;
+import com.maitri.service.SlotHoldService.SlotKey;
+import com.maitri.util.MutableClock;
+
+/**
+ * Tests for short-lived slot holds taken during booking checkout
+ */
+class SlotHoldServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 15);
+    private static final SlotKey SLOT = new SlotKey(1L, DATE, LocalTime.of(10, 0));
+
+    private MutableClock clock;
+    private SlotHoldService slotHoldService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2030-01-01T00:00:00Z"));
+        slotHoldService = new SlotHoldService(Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    @DisplayName("Another patient cannot hold a slot that is already held")
+    void testHoldIsExclusive() {
+        slotHoldService.hold(SLOT, 10L);
+
+        assertThrows(RuntimeException.class, () -> slotHoldService.hold(SLOT, 20L));
+        assertEquals(Set.of(SLOT.time()), slotHoldService.getTimesHeldByOthers(1L, DATE, 20L));
+        assertTrue(slotHoldService.getTimesHeldByOthers(1L, DATE, 10L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Holding again as the same patient keeps the hold and extends it")
+    void testSamePatientRefreshesHold() {
+        SlotHold first = slotHoldService.hold(SLOT, 10L);
+        clock.advance(Duration.ofMinutes(3));
+        SlotHold second = slotHoldService.hold(SLOT, 10L);
+
+        assertEquals(first.holdId(), second.holdId());
+        assertTrue(second.expiresAt().isAfter(first.expiresAt()));
+    }
+
+    @Test
+    @DisplayName("Expired holds no longer block other patients and are purged")
+    void testExpiredHoldIsIgnored() {
+        slotHoldService.hold(SLOT, 10L);
+        clock.advance(Duration.ofMinutes(5));
+
+        assertTrue(slotHoldService.getTimesHeldByOthers(1L, DATE, 20L).isEmpty());
+        assertEquals(1, slotHoldService.purgeExpired().size());
+        assertEquals(20L, slotHoldService.hold(SLOT, 20L).patientId());
+    }
+
+    @Test
+    @DisplayName("Only the holder can release a hold")
+    void testReleaseByOwnerOnly() {
+        SlotHold hold = slotHoldService.hold(SLOT, 10L);
+
+        assertFalse(slotHoldService.release(hold.holdId(), 20L));
+        assertTrue(slotHoldService.release(hold.holdId(), 10L));
+        assertTrue(slotHoldService.findByHoldId(hold.holdId()).isEmpty());
+    }
+}
@@ -0,0 +1,164 @@
+package com.maitri.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.helpers.MessageFormatter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maitri.dto.MealPlan;
+import com.maitri.dto.SpoonacularMealPlanResponse;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Allocations per meal plan response: the old path (whole body as a String, logged, parsed into a
+ * JsonNode tree, copied into maps) against the typed decode toEntity uses now. Jackson2JsonDecoder's
+ * decodeToMono joins the buffers into one before parsing, so the gain comes from skipping the String,
+ * the log line and the tree, not from parsing buffers as they arrive.
+ *
+ * Not part of the regular test run; run with: mvn test -Dtest=SpoonacularDecodingBenchmark
+ */
+class SpoonacularDecodingBenchmark {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 5_000;
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private final SpoonacularService spoonacularService = new SpoonacularService();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StringDecoder stringDecoder = StringDecoder.allMimeTypes();
+    private final Jackson2JsonDecoder jsonDecoder = new Jackson2JsonDecoder();
+
+    @Test
+    @DisplayName("Typed decode of the joined body allocates less per response than String + tree parsing")
+    void compareAllocations() {
+        byte[] body = mealPlanJson().getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.valueToTree(legacyDecode(body)), objectMapper.valueToTree(typedDecode(body)));
+
+        long legacy = allocatedBytesPerCall(() -> legacyDecode(body));
+        long typed = allocatedBytesPerCall(() -> typedDecode(body));
+
+        System.out.printf("Spoonacular meal plan response: %,d bytes%n", body.length);
+        System.out.printf("  String + readTree + maps: %,d bytes allocated per response%n", legacy);
+        System.out.printf("  typed decode:             %,d bytes allocated per response%n", typed);
+    }
+
+    // Before: bodyToMono(String.class), full body logged at INFO, readTree, copy into maps
+    private Map<String, Object> legacyDecode(byte[] body) {
+        String json = stringDecoder.decodeToMono(chunks(body), ResolvableType.forClass(String.class), null, null).block();
+        MessageFormatter.format("Spoonacular API response: {}", json).getMessage();
+        try {
+            JsonNode rootNode = objectMapper.readTree(json);
+            Map<String, Object> result = new HashMap<>();
+            List<Map<String, Object>> meals = new ArrayList<>();
+            for (JsonNode meal : rootNode.path("meals")) {
+                Map<String, Object> mealData = new HashMap<>();
+                mealData.put("id", meal.path("id").asInt());
+                mealData.put("title", meal.path("title").asText());
+                mealData.put("readyInMinutes", meal.path("readyInMinutes").asInt());
+                mealData.put("servings", meal.path("servings").asInt());
+                mealData.put("sourceUrl", meal.path("sourceUrl").asText());
+                meals.add(mealData);
+            }
+            result.put("meals", meals);
+            JsonNode nutrientsNode = rootNode.path("nutrients");
+            Map<String, Object> nutrients = new HashMap<>();
+            nutrients.put("calories", nutrientsNode.path("calories").asDouble());
+            nutrients.put("protein", nutrientsNode.path("protein").asDouble());
+            nutrients.put("fat", nutrientsNode.path("fat").asDouble());
+            nutrients.put("carbohydrates", nutrientsNode.path("carbohydrates").asDouble());
+            result.put("nutrients", nutrients);
+            result.put("fallback", false);
+            result.put("apiSuccess", true);
+            return result;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // After: toEntity(SpoonacularMealPlanResponse.class) (joined body bound by Jackson), then the service's step to an immutable MealPlan
+    private MealPlan typedDecode(byte[] body) {
+        Object response = jsonDecoder.decodeToMono(
+            chunks(body), ResolvableType.forClass(SpoonacularMealPlanResponse.class), null, null
+        ).block();
+        return ReflectionTestUtils.invokeMethod(spoonacularService, "processMealPlanResponse", response);
+    }
+
+    // The body as it arrives from the connection, in fixed-size buffers
+    private static Flux<DataBuffer> chunks(byte[] body) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, body.length - offset);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(body, offset, length)));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    private static long allocatedBytesPerCall(Supplier<?> call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+
+    // Shaped like a real response with includeNutrition/addRecipeNutrition: most of it is per-recipe
+    // nutrition we never read
+    private static String mealPlanJson() {
+        StringBuilder json = new StringBuilder("{\"meals\":[");
+        for (int meal = 0; meal < 3; meal++) {
+            if (meal > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(715594 + meal)
+                .append(",\"imageType\":\"jpg\",\"title\":\"Recipe ").append(meal)
+                .append("\",\"readyInMinutes\":").append(20 + meal * 5)
+                .append(",\"servings\":").append(2 + meal)
+                .append(",\"sourceUrl\":\"https://spoonacular.com/recipe-").append(meal).append("\"")
+                .append(",\"nutrition\":{\"nutrients\":[");
+            for (int nutrient = 0; nutrient < 40; nutrient++) {
+                if (nutrient > 0) {
+                    json.append(',');
+                }
+                json.append("{\"name\":\"Nutrient ").append(nutrient)
+                    .append("\",\"amount\":").append(nutrient * 1.25)
+                    .append(",\"unit\":\"g\",\"percentOfDailyNeeds\":").append(nutrient * 0.5).append('}');
+            }
+            json.append("],\"ingredients\":[");
+            for (int ingredient = 0; ingredient < 15; ingredient++) {
+                if (ingredient > 0) {
+                    json.append(',');
+                }
+                json.append("{\"id\":").append(1000 + ingredient)
+                    .append(",\"name\":\"ingredient ").append(ingredient)
+                    .append("\",\"amount\":1.5,\"unit\":\"cup\",\"nutrients\":[{\"name\":\"Calories\",\"amount\":42.0,\"unit\":\"kcal\"}]}");
+            }
+            json.append("]}}");
+        }
+        json.append("],\"nutrients\":{\"calories\":1798.5,\"protein\":62.3,\"fat\":55.1,\"carbohydrates\":248.9}}");
+        return json.toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.maitri.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.maitri.service.SpoonacularQuotaManager.Operation;
+import com.maitri.service.SpoonacularQuotaManager.Priority;
+import com.maitri.service.SpoonacularQuotaManager.QuotaExceededException;
+
+/**
+ * Tests for the Spoonacular daily point budget and request rate limit
+ */
+class SpoonacularQuotaManagerTest {
+
+    private SpoonacularQuotaManager quotaManager;
+
+    @BeforeEach
+    void setUp() {
+        quotaManager = new SpoonacularQuotaManager();
+        ReflectionTestUtils.setField(quotaManager, "enabled", true);
+        ReflectionTestUtils.setField(quotaManager, "dailyPoints", 10.0);
+        ReflectionTestUtils.setField(quotaManager, "requestsPerSecond", 0.001);
+        ReflectionTestUtils.setField(quotaManager, "burst", 100);
+        ReflectionTestUtils.setField(quotaManager, "backgroundReservePercent", 20);
+        ReflectionTestUtils.setField(quotaManager, "clock", Clock.fixed(Instant.parse("2026-03-01T10:00:00Z"), ZoneOffset.UTC));
+        quotaManager.init();
+    }
+
+    @Test
+    @DisplayName("Background calls stop at the reserve while interactive calls use the rest of the day's points")
+    void backgroundCallsLeaveReserveForInteractive() {
+        for (int i = 0; i < 8; i++) {
+            assertTrue(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.BACKGROUND));
+        }
+        assertFalse(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.BACKGROUND));
+
+        assertTrue(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.INTERACTIVE));
+        assertTrue(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.INTERACTIVE));
+        assertFalse(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.INTERACTIVE));
+        assertEquals(2L, quotaManager.stats().get("deniedDailyBudget"));
+    }
+
+    @Test
+    @DisplayName("Usage headers override local estimates and a spent quota refuses calls until the next UTC day")
+    void responseHeadersDriveUsageAndExhaustion() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-API-Quota-Request", "2.5");
+        headers.add("X-API-Quota-Used", "6");
+        headers.add("X-API-Quota-Left", "4");
+        quotaManager.recordResponse(Operation.MEAL_PLAN, headers);
+
+        Map<String, Object> stats = quotaManager.stats();
+        assertEquals(6.0, stats.get("pointsUsed"));
+        assertEquals(Map.of(Operation.MEAL_PLAN, 2.5), stats.get("lastCosts"));
+
+        // 6 used + 2.5 learned cost is past the 8 points background calls may use
+        assertFalse(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.BACKGROUND));
+
+        HttpHeaders spent = new HttpHeaders();
+        spent.add("X-API-Quota-Left", "0");
+        quotaManager.recordResponse(Operation.MEAL_PLAN, spent);
+        assertFalse(quotaManager.tryAcquire(Operation.INGREDIENT_SEARCH, Priority.INTERACTIVE));
+
+        ReflectionTestUtils.setField(quotaManager, "clock", Clock.fixed(Instant.parse("2026-03-02T00:00:01Z"), ZoneOffset.UTC));
+        assertTrue(quotaManager.tryAcquire(Operation.INGREDIENT_SEARCH, Priority.INTERACTIVE));
+        assertEquals(false, quotaManager.stats().get("exhausted"));
+    }
+
+    @Test
+    @DisplayName("The per-second bucket refuses bursts and keeps its last token for interactive calls")
+    void rateLimitKeepsTokenForInteractive() {
+        ReflectionTestUtils.setField(quotaManager, "dailyPoints", 1000.0);
+        ReflectionTestUtils.setField(quotaManager, "burst", 2);
+        quotaManager.init();
+
+        assertTrue(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.BACKGROUND));
+        assertFalse(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.BACKGROUND));
+        assertTrue(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.INTERACTIVE));
+        assertFalse(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.INTERACTIVE));
+        assertEquals(2L, quotaManager.stats().get("deniedRateLimit"));
+    }
+
+    @Test
+    @DisplayName("Interactive calls past the burst wait their turn up to the limit")
+    void interactiveCallsWaitForTokens() {
+        ReflectionTestUtils.setField(quotaManager, "dailyPoints", 1000.0);
+        ReflectionTestUtils.setField(quotaManager, "requestsPerSecond", 1.0);
+        ReflectionTestUtils.setField(quotaManager, "burst", 2);
+        quotaManager.init();
+        long maxWaitNanos = Duration.ofMillis(2500).toNanos();
+
+        assertEquals(0L, quotaManager.reserve(Operation.MEAL_PLAN, Priority.INTERACTIVE, maxWaitNanos));
+        assertEquals(0L, quotaManager.reserve(Operation.MEAL_PLAN, Priority.INTERACTIVE, maxWaitNanos));
+        assertTrue(quotaManager.reserve(Operation.MEAL_PLAN, Priority.INTERACTIVE, maxWaitNanos) <= Duration.ofSeconds(1).toNanos());
+        assertTrue(quotaManager.reserve(Operation.MEAL_PLAN, Priority.INTERACTIVE, maxWaitNanos) > Duration.ofSeconds(1).toNanos());
+        assertEquals(SpoonacularQuotaManager.DENIED_RATE_LIMIT,
+                quotaManager.reserve(Operation.MEAL_PLAN, Priority.INTERACTIVE, maxWaitNanos));
+        assertEquals(2L, quotaManager.stats().get("delayedRateLimit"));
+    }
+
+    @Test
+    @DisplayName("Background calls wait for a spare token within their limit and are refused beyond it")
+    void backgroundCallsWaitForSpareTokens() {
+        ReflectionTestUtils.setField(quotaManager, "dailyPoints", 1000.0);
+        ReflectionTestUtils.setField(quotaManager, "requestsPerSecond", 10.0);
+        ReflectionTestUtils.setField(quotaManager, "burst", 2);
+        ReflectionTestUtils.setField(quotaManager, "backgroundMaxWaitMs", 1000L);
+        quotaManager.init();
+
+        assertTrue(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.INTERACTIVE));
+        assertTrue(quotaManager.tryAcquire(Operation.MEAL_PLAN, Priority.INTERACTIVE));
+        // Needs two tokens (one left for interactive calls), about 200 ms at 10 per second
+        quotaManager.acquire(Operation.MEAL_PLAN, Priority.BACKGROUND).block(Duration.ofSeconds(2));
+        assertEquals(1L, quotaManager.stats().get("delayedRateLimit"));
+
+        ReflectionTestUtils.setField(quotaManager, "backgroundMaxWaitMs", 0L);
+        assertThrows(QuotaExceededException.class,
+                () -> quotaManager.acquire(Operation.MEAL_PLAN, Priority.BACKGROUND).block(Duration.ofSeconds(2)));
+        assertEquals(1L, quotaManager.stats().get("deniedRateLimit"));
+    }
+}
@@ -0,0 +1,211 @@
+package com.maitri.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.maitri.dto.WeeklyMealPlanDay;
+import com.maitri.service.SpoonacularService.MealPlanKey;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for Spoonacular meal planning, against a local stand-in for the Spoonacular API
+ */
+class SpoonacularServiceTest {
+
+    private static final Map<String, Object> USER = Map.of(
+            "age", 30, "weight", 60, "height", 165, "activityLevel", "moderate", "dietaryPreferences", "vegetarian");
+
+    private HttpServer server;
+    private final AtomicInteger mealPlanCalls = new AtomicInteger();
+    private final List<String> recipeBulkQueries = new CopyOnWriteArrayList<>();
+    private final List<String> ingredientQueries = new CopyOnWriteArrayList<>();
+    private SpoonacularQuotaManager quotaManager;
+    private SpoonacularService spoonacularService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/mealplanner/generate", exchange -> {
+            int call = mealPlanCalls.incrementAndGet();
+            respond(exchange, "{\"meals\":[{\"id\":" + call + ",\"title\":\"Dal " + call + "\",\"readyInMinutes\":20,"
+                    + "\"servings\":2,\"sourceUrl\":\"\"}],\"nutrients\":{\"calories\":1800,\"protein\":60,\"fat\":50,"
+                    + "\"carbohydrates\":200}}");
+        });
+        server.createContext("/recipes/informationBulk", exchange -> {
+            recipeBulkQueries.add(exchange.getRequestURI().getQuery());
+            respond(exchange, "[]");
+        });
+        server.createContext("/food/ingredients/search", exchange -> {
+            String query = queryParameter(exchange, "query");
+            ingredientQueries.add(query);
+            switch (query) {
+                case "brown rice" -> respond(exchange, "{\"results\":[{\"id\":10,\"name\":\"brown rice\"},"
+                        + "{\"id\":11,\"name\":\"rice flour\",\"image\":\"flour.jpg\"}]}");
+                case "lentils" -> respond(exchange, "{\"results\":[{\"id\":11,\"name\":\"rice flour\"},"
+                        + "{\"id\":12,\"name\":\"lentils\"}]}");
+                default -> {
+                    exchange.sendResponseHeaders(500, -1);
+                    exchange.close();
+                }
+            }
+        });
+        server.start();
+
+        // Quota settings as shipped in application-template.properties
+        quotaManager = new SpoonacularQuotaManager();
+        ReflectionTestUtils.setField(quotaManager, "enabled", true);
+        ReflectionTestUtils.setField(quotaManager, "dailyPoints", 150.0);
+        ReflectionTestUtils.setField(quotaManager, "requestsPerSecond", 1.0);
+        ReflectionTestUtils.setField(quotaManager, "burst", 5);
+        ReflectionTestUtils.setField(quotaManager, "backgroundReservePercent", 20);
+        ReflectionTestUtils.setField(quotaManager, "interactiveMaxWaitMs", 5000L);
+        ReflectionTestUtils.setField(quotaManager, "backgroundMaxWaitMs", 10000L);
+        quotaManager.init();
+
+        LocalRecipeCatalog catalog = new LocalRecipeCatalog();
+        catalog.load();
+        LocalMealPlanner localMealPlanner = new LocalMealPlanner();
+        ReflectionTestUtils.setField(localMealPlanner, "catalog", catalog);
+
+        spoonacularService = new SpoonacularService();
+        ReflectionTestUtils.setField(spoonacularService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(spoonacularService, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(spoonacularService, "mealPlanCacheMaxEntries", 500);
+        ReflectionTestUtils.setField(spoonacularService, "mealPlanCacheTtlHours", 24);
+        ReflectionTestUtils.setField(spoonacularService, "mealPlanCachePersistFile", "");
+        ReflectionTestUtils.setField(spoonacularService, "ingredientCacheMaxEntries", 5000);
+        ReflectionTestUtils.setField(spoonacularService, "ingredientCacheTtlHours", 168);
+        ReflectionTestUtils.setField(spoonacularService, "ingredientCachePersistFile", "");
+        ReflectionTestUtils.setField(spoonacularService, "ingredientLookupConcurrency", 4);
+        ReflectionTestUtils.setField(spoonacularService, "recipeCacheMaxEntries", 2000);
+        ReflectionTestUtils.setField(spoonacularService, "recipeCacheTtlHours", 720);
+        ReflectionTestUtils.setField(spoonacularService, "recipeCachePersistFile", "");
+        ReflectionTestUtils.setField(spoonacularService, "recipePrefetch", true);
+        ReflectionTestUtils.setField(spoonacularService, "weeklyPlanConcurrency", 3);
+        ReflectionTestUtils.setField(spoonacularService, "breakerWindowSize", 20);
+        ReflectionTestUtils.setField(spoonacularService, "breakerMinimumCalls", 5);
+        ReflectionTestUtils.setField(spoonacularService, "breakerFailureRateThreshold", 50);
+        ReflectionTestUtils.setField(spoonacularService, "breakerOpenSeconds", 30);
+        ReflectionTestUtils.setField(spoonacularService, "breakerHalfOpenProbes", 2);
+        ReflectionTestUtils.setField(spoonacularService, "mealPlannerEngine", "spoonacular");
+        ReflectionTestUtils.setField(spoonacularService, "quotaManager", quotaManager);
+        ReflectionTestUtils.setField(spoonacularService, "localMealPlanner", localMealPlanner);
+        spoonacularService.initMealPlanCache();
+        spoonacularService.initIngredientCache();
+        spoonacularService.initRecipeCache();
+        spoonacularService.initCircuitBreaker();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("A cold week is paced to the request rate instead of falling back for the days beyond the burst")
+    void coldWeekComesFromSpoonacular() {
+        // Covered by weeklyPlanPrefetchesOnce; here it would outlive the stand-in server
+        ReflectionTestUtils.setField(spoonacularService, "recipePrefetch", false);
+
+        List<WeeklyMealPlanDay> week = spoonacularService.generateWeeklyPlan(USER, null)
+                .collectList()
+                .block(Duration.ofSeconds(20));
+
+        assertEquals(7, week.size());
+        assertTrue(week.stream().allMatch(day -> day.plan().apiSuccess()), "every day should come from Spoonacular");
+        assertEquals(7, mealPlanCalls.get());
+    }
+
+    @Test
+    @DisplayName("A cold week prefetches the recipes of all its days in one bulk call once tokens are spare again")
+    void weeklyPlanPrefetchesOnce() throws InterruptedException {
+        spoonacularService.generateWeeklyPlan(USER, null).blockLast(Duration.ofSeconds(20));
+
+        // The prefetch runs in the background once the week completes, after the drained bucket refills
+        for (int waited = 0; recipeBulkQueries.isEmpty() && waited < 10000; waited += 50) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(200);
+        assertEquals(1, recipeBulkQueries.size());
+        assertTrue(recipeBulkQueries.get(0).contains("ids=1,2,3,4,5,6,7&"), recipeBulkQueries.get(0));
+    }
+
+    @Test
+    @DisplayName("Nutrition lookups normalize and dedupe foods, skip a failed one and are cached per ingredient")
+    void nutritionInfoIsMergedAndCached() {
+        Map<String, Object> info = spoonacularService.getNutritionInfo(
+                List.of("  Brown   RICE ", "Lentils", "brown rice", "durian")).block(Duration.ofSeconds(10));
+
+        // In the order asked for, with rice flour (a match for both) listed once; durian failed and is left out
+        assertEquals(List.of(10, 11, 12), ingredientIds(info));
+        assertEquals(3, ingredientQueries.size());
+        assertEquals(Set.of("brown rice", "lentils", "durian"), Set.copyOf(ingredientQueries));
+
+        Map<String, Object> cached = spoonacularService.getNutritionInfo(List.of("LENTILS", "brown rice"))
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(List.of(11, 12, 10), ingredientIds(cached));
+        assertEquals(3, ingredientQueries.size());
+    }
+
+    @Test
+    @DisplayName("Ingredient names are trimmed, lower-cased and have their whitespace collapsed")
+    void ingredientNamesAreNormalized() {
+        assertEquals("brown rice", SpoonacularService.normalizeIngredient("  Brown \t RICE "));
+        assertEquals("", SpoonacularService.normalizeIngredient("   "));
+    }
+
+    @Test
+    @DisplayName("Meal plan keys bucket calories to 50 kcal and ignore intolerance order")
+    void mealPlanKeyIsNormalized() {
+        MealPlanKey key = MealPlanKey.of(1584, "vegetarian", List.of("peanut", "dairy"));
+
+        assertEquals(key, MealPlanKey.of(1612, "vegetarian", List.of("dairy", "peanut", "dairy")));
+        assertEquals(1600, key.calories());
+        assertEquals(List.of("dairy", "peanut"), key.intolerances());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Integer> ingredientIds(Map<String, Object> info) {
+        return ((List<Map<String, Object>>) info.get("ingredients")).stream()
+                .map(ingredient -> (Integer) ingredient.get("id"))
+                .collect(Collectors.toList());
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        for (String parameter : exchange.getRequestURI().getQuery().split("&")) {
+            if (parameter.startsWith(name + "=")) {
+                return parameter.substring(name.length() + 1);
+            }
+        }
+        return "";
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.maitri.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests for the sliding-window circuit breaker state machine
+ */
+class CircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T10:00:00Z"));
+
+    private final CircuitBreaker breaker = new CircuitBreaker("test",
+            new CircuitBreaker.Config(4, 4, 50, Duration.ofSeconds(30), 2),
+            error -> !(error instanceof IllegalArgumentException),
+            error -> error instanceof IllegalStateException,
+            clock);
+
+    @Test
+    @DisplayName("Circuit opens at the failure rate and then fails fast without calling out")
+    void opensAtFailureRateAndFailsFast() {
+        succeed();
+        succeed();
+        fail(new RuntimeException("down"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(new RuntimeException("down"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> rejected = breaker.protect(() -> {
+            calls.incrementAndGet();
+            return Mono.just("ok");
+        });
+        assertThrows(CircuitBreaker.CallNotPermittedException.class, rejected::block);
+        assertEquals(0, calls.get());
+        assertEquals(1L, breaker.stats().get("notPermittedCalls"));
+    }
+
+    @Test
+    @DisplayName("Client errors and ignored errors never open the circuit")
+    void nonFailuresDoNotOpen() {
+        for (int i = 0; i < 4; i++) {
+            fail(new IllegalArgumentException("bad request"));
+            fail(new IllegalStateException("refused locally"));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(4, breaker.stats().get("bufferedCalls"));
+        assertEquals(0.0, breaker.stats().get("failureRatePercent"));
+    }
+
+    @Test
+    @DisplayName("After the open period, probes close the circuit on success and reopen it on failure")
+    void halfOpenProbes() {
+        for (int i = 0; i < 4; i++) {
+            fail(new RuntimeException("down"));
+        }
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        fail(new RuntimeException("still down"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        clock.advance(Duration.ofSeconds(30));
+        succeed();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        succeed();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(2L, breaker.stats().get("timesOpened"));
+    }
+
+    private void succeed() {
+        breaker.protect(() -> Mono.just("ok")).block();
+    }
+
+    private void fail(RuntimeException error) {
+        Mono<String> call = breaker.protect(() -> Mono.error(error));
+        assertThrows(RuntimeException.class, call::block);
+    }
+}
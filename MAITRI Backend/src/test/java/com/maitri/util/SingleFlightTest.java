@@ -0,0 +1,60 @@
+package com.maitri.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Tests for coalescing identical in-flight calls
+ */
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("Concurrent callers with the same key share one upstream call")
+    void concurrentCallsAreCoalesced() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+
+        Mono<String> first = singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+        Mono<String> second = singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return Mono.just("not used");
+        });
+
+        // Both subscribe while the call is still open
+        Mono<List<String>> both = Mono.zip(first, second).map(pair -> List.of(pair.getT1(), pair.getT2()));
+        Mono<List<String>> result = both.cache();
+        result.subscribe();
+        upstream.tryEmitValue("plan");
+
+        assertEquals(List.of("plan", "plan"), result.block());
+        assertEquals(1, calls.get());
+        assertEquals(1L, singleFlight.stats().get("issued"));
+        assertEquals(1L, singleFlight.stats().get("coalesced"));
+        assertEquals(0, singleFlight.stats().get("inFlight"));
+    }
+
+    @Test
+    @DisplayName("A finished call frees the key, errors included")
+    void finishedCallsAreNotReused() {
+        assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("key", () -> Mono.error(new IllegalStateException("down"))).block());
+
+        assertEquals("fresh", singleFlight.execute("key", () -> Mono.just("fresh")).block());
+        assertEquals(2L, singleFlight.stats().get("issued"));
+        assertEquals(0L, singleFlight.stats().get("coalesced"));
+    }
+}
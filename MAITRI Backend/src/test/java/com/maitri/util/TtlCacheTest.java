@@ -0,0 +1,66 @@
+package com.maitri.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the size- and TTL-bounded cache used for Spoonacular meal plans
+ */
+class TtlCacheTest {
+
+    private MutableClock clock;
+    private TtlCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2030-01-01T00:00:00Z"));
+        cache = new TtlCache<>(2, Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    @DisplayName("Entries expire after the TTL and count as misses")
+    void entriesExpire() {
+        cache.put("a", "1");
+        assertEquals(Optional.of("1"), cache.get("a"));
+
+        clock.advance(Duration.ofMinutes(10));
+
+        assertTrue(cache.get("a").isEmpty());
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(1L, cache.stats().get("misses"));
+        assertEquals(1L, cache.stats().get("expirations"));
+    }
+
+    @Test
+    @DisplayName("The least recently used entry is evicted when the cache is full")
+    void leastRecentlyUsedIsEvicted() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertTrue(cache.get("b").isEmpty());
+        assertEquals(Optional.of("1"), cache.get("a"));
+        assertEquals(Optional.of("3"), cache.get("c"));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    @DisplayName("Restored entries keep their original expiry")
+    void restoreKeepsExpiry() {
+        cache.restore("a", "1", clock.instant().plus(Duration.ofMinutes(1)));
+        cache.restore("b", "2", clock.instant().minus(Duration.ofMinutes(1)));
+
+        assertEquals(1, cache.snapshot().size());
+        clock.advance(Duration.ofMinutes(2));
+        assertTrue(cache.get("a").isEmpty());
+    }
+}
@@ -14,6 +14,7 @@ const BookingModal = ({ doctor, isOpen, onClose, onBookingSubmit }) => {
   const [availableSlots, setAvailableSlots] = useState([])
   const [loadingSlots, setLoadingSlots] = useState(false)
   const [errors, setErrors] = useState({})
+  const [waitlistMessage, setWaitlistMessage] = useState('')
 
   // Get today's date for minimum date validation (ensure it's always today)
   const getTodayDate = () => {
@@ -55,7 +56,7 @@ const BookingModal = ({ doctor, isOpen, onClose, onBookingSubmit }) => {
 
     setLoadingSlots(true)
     try {
-      const response = await fetch(`http://localhost:8080/api/bookings/available-slots?doctorId=${doctor.id}&date=${date}`, {
+      const response = await fetch(`http://localhost:8080/api/bookings/available-slots?doctorId=${doctor.id}&date=${date}${user?.id ? `&patientId=${user.id}` : ''}`, {
         method: 'GET',
         headers: {
           'Content-Type': 'application/json',
@@ -82,6 +83,82 @@ const BookingModal = ({ doctor, isOpen, onClose, onBookingSubmit }) => {
     }
   }
 
+  // Hold the chosen slot for a few minutes so nobody else can take it while the form is filled in
+  const selectTimeSlot = async (slot) => {
+    setBookingData(prev => ({ ...prev, time: slot }))
+    if (!user?.id) return
+
+    try {
+      const response = await fetch('http://localhost:8080/api/bookings/holds', {
+        method: 'POST',
+        headers: {
+          'Content-Type': 'application/json',
+          ...(user?.token && { 'Authorization': `Bearer ${user.token}` })
+        },
+        body: JSON.stringify({
+          doctorId: doctor.id,
+          patientId: parseInt(user.id, 10),
+          date: bookingData.date,
+          time: slot
+        })
+      })
+
+      if (response.status === 409) {
+        const result = await response.json()
+        setErrors(prev => ({ ...prev, time: result.message }))
+        setBookingData(prev => ({ ...prev, time: '' }))
+        fetchAvailableSlots(bookingData.date)
+      }
+    } catch (error) {
+      // Holds are best-effort; booking creation still checks for conflicts
+      console.error('Failed to hold time slot:', error)
+    }
+  }
+
+  // Join the waitlist when the chosen day is fully booked
+  const joinWaitlist = async () => {
+    if (!user?.id || !bookingData.date) return
+
+    try {
+      const response = await fetch('http://localhost:8080/api/bookings/waitlist', {
+        method: 'POST',
+        headers: {
+          'Content-Type': 'application/json',
+          ...(user?.token && { 'Authorization': `Bearer ${user.token}` })
+        },
+        body: JSON.stringify({
+          doctorId: doctor.id,
+          patientId: parseInt(user.id, 10),
+          date: bookingData.date
+        })
+      })
+      const result = await response.json()
+      setWaitlistMessage(result.success
+        ? `You are #${result.position} on the waitlist. We'll hold a slot for you if one opens up.`
+        : result.message)
+    } catch (error) {
+      console.error('Failed to join waitlist:', error)
+    }
+  }
+
+  // Listen for waitlist promotions while the modal is open
+  useEffect(() => {
+    if (!isOpen || !user?.id) return
+
+    const events = new EventSource(`http://localhost:8080/api/bookings/waitlist/stream?patientId=${user.id}`)
+    events.addEventListener('waitlist-promoted', (event) => {
+      const promotion = JSON.parse(event.data)
+      if (promotion.doctorId !== doctor.id) return
+
+      // The held slot shows up in this patient's available slots for that date
+      const time = promotion.time.substring(0, 5)
+      setBookingData(prev => ({ ...prev, date: promotion.date }))
+      fetchAvailableSlots(promotion.date)
+      setWaitlistMessage(`A slot opened up at ${time} on ${promotion.date} and is held for you for a few minutes.`)
+    })
+    return () => events.close()
+  }, [isOpen, user?.id, doctor?.id])
+
   // Load available slots when date changes
   useEffect(() => {
     if (bookingData.date) {
@@ -519,7 +596,7 @@ const BookingModal = ({ doctor, isOpen, onClose, onBookingSubmit }) => {
                             <div
                               key={slot}
                               className={`time-slot-option ${bookingData.time === slot ? 'selected' : ''}`}
-                              onClick={() => !isDateTimeInPast(bookingData.date, slot) && setBookingData(prev => ({ ...prev, time: slot }))}
+                              onClick={() => !isDateTimeInPast(bookingData.date, slot) && selectTimeSlot(slot)}
                               style={{ opacity: isDateTimeInPast(bookingData.date, slot) ? 0.5 : 1 }}
                             >
                               {slot}
@@ -527,10 +604,16 @@ const BookingModal = ({ doctor, isOpen, onClose, onBookingSubmit }) => {
                           ))}
                         </div>
                       )}
+                      {!loadingSlots && bookingData.date && availableSlots.length === 0 && !waitlistMessage && (
+                        <button type="button" className="btn btn-outline-primary btn-sm mt-2" onClick={joinWaitlist}>
+                          Fully booked - join the waitlist
+                        </button>
+                      )}
+                      {waitlistMessage && <div className="text-info mt-2">{waitlistMessage}</div>}
                       {errors.time && <div className="text-danger mt-2">{errors.time}</div>}
                       <small className="form-text text-muted mt-2">
                         <i className="fas fa-info-circle me-1"></i>
-                        Available: 9:00 AM - 5:30 PM (30-minute slots)
+                        Slots follow the doctor's weekly schedule
                       </small>
                     </div>
                   </div>
@@ -1,4 +1,4 @@
-import { useState } from 'react'
+import { useState, useEffect } from 'react'
 import { useNavigate } from 'react-router-dom'
 import DoctorCard from './DoctorCard'
 import BookingModal from './BookingModal'
@@ -12,9 +12,35 @@ const Doctors = () => {
   const [likedDoctors, setLikedDoctors] = useState([])
   const [showBookingModal, setShowBookingModal] = useState(false)
   const [selectedDoctor, setSelectedDoctor] = useState(null)
+  const [directoryDoctors, setDirectoryDoctors] = useState(null)
+
+  // Load doctors from the backend directory; the sample list below is only a fallback
+  useEffect(() => {
+    fetch('http://localhost:8080/api/doctors')
+      .then(response => response.ok ? response.json() : null)
+      .then(result => {
+        if (result?.success && result.doctors.length > 0) {
+          setDirectoryDoctors(result.doctors.map(doctor => ({
+            id: doctor.id,
+            name: doctor.name,
+            specialization: doctor.specialization,
+            experience: `${doctor.experienceYears} years`,
+            rating: doctor.rating,
+            location: doctor.location,
+            price: `₹${Number(doctor.consultationFee)}`,
+            image: doctor.imageUrl,
+            availability: 'Available Today',
+            languages: doctor.languages,
+            education: doctor.education,
+            about: doctor.about
+          })))
+        }
+      })
+      .catch(error => console.error('Failed to load doctors:', error))
+  }, [])
 
   // Sample doctors data
-  const doctors = [
+  const sampleDoctors = [
     {
       id: 1,
       name: 'Dr. Anita Sharma',
@@ -185,6 +211,8 @@ const Doctors = () => {
     }
   ]
 
+  const doctors = directoryDoctors || sampleDoctors
+
   const specializations = [
     'All Specializations',
     'Gynecologist',
@@ -17,6 +17,9 @@ const Profile = () => {
   const [showContent, setShowContent] = useState(false)
   const [bookings, setBookings] = useState([])
   const [loadingBookings, setLoadingBookings] = useState(false)
+  const [loadingMoreBookings, setLoadingMoreBookings] = useState(false)
+  const [bookingsCursor, setBookingsCursor] = useState(null) // nextCursor of the last page, null when there is no more
+  const latestBookingsRequest = React.useRef(0) // responses of superseded requests (e.g. after a tab switch) are ignored
   const [activeTab, setActiveTab] = useState('upcoming') // 'upcoming' or 'history'
   const [dietPlan, setDietPlan] = useState(null)
   const [loadingDietPlan, setLoadingDietPlan] = useState(false)
@@ -87,13 +90,16 @@ const Profile = () => {
     }
   }, [isAuthenticated, currentUser])
 
-  // Fetch user bookings
-  const fetchBookings = async (type = 'upcoming') => {
-    setLoadingBookings(true)
+  // Fetch user bookings, one page at a time: without a cursor the list is replaced, with one the page is appended
+  const fetchBookings = async (type = 'upcoming', cursor = null) => {
+    const setLoading = cursor ? setLoadingMoreBookings : setLoadingBookings
+    const request = ++latestBookingsRequest.current
+    setLoading(true)
     try {
       const endpoint = type === 'upcoming' ? '/api/bookings/upcoming' : '/api/bookings/history'
       // Add user ID as query parameter for debugging
-      const url = `http://localhost:8080${endpoint}?userId=${currentUser?.id || 1}`
+      const url = `http://localhost:8080${endpoint}?userId=${currentUser?.id || 1}` +
+        (cursor ? `&cursor=${encodeURIComponent(cursor)}` : '')
       
       console.log('Fetching bookings from:', url)
       console.log('Current user:', currentUser)
@@ -110,21 +116,35 @@ const Profile = () => {
         const result = await response.json()
         console.log('Booking response:', result)
         
+        if (request !== latestBookingsRequest.current) {
+          return
+        }
         if (result.success) {
-          setBookings(result.bookings || [])
+          const page = result.bookings || []
+          setBookings(previous => cursor ? [...previous, ...page] : page)
+          setBookingsCursor(result.hasMore ? result.nextCursor : null)
         } else {
           console.error('Failed to fetch bookings:', result.message)
-          setBookings([])
+          if (!cursor) {
+            setBookings([])
+            setBookingsCursor(null)
+          }
         }
       } else {
         console.error('Failed to fetch bookings:', response.status)
-        setBookings([])
+        if (!cursor) {
+          setBookings([])
+          setBookingsCursor(null)
+        }
       }
     } catch (error) {
       console.error('Error fetching bookings:', error)
-      setBookings([])
+      if (!cursor) {
+        setBookings([])
+        setBookingsCursor(null)
+      }
     } finally {
-      setLoadingBookings(false)
+      setLoading(false)
     }
   }
 
@@ -444,10 +464,10 @@ const Profile = () => {
   // Debug function to check all bookings
   const debugAllBookings = async () => {
     try {
-      const response = await fetch('http://localhost:8080/api/bookings/debug/all')
+      const response = await fetch('http://localhost:8080/api/admin/statistics')
       const result = await response.json()
-      console.log('All bookings in database:', result)
-      alert(`Found ${result.totalBookings} bookings in database. Check console for details.`)
+      console.log('Booking statistics:', result)
+      alert(`Found ${result.statistics?.total ?? 0} bookings in database. Check console for details.`)
     } catch (error) {
       console.error('Debug error:', error)
       alert('Debug failed. Check console.')
@@ -1079,6 +1099,27 @@ const Profile = () => {
                           </div>
                         </div>
                       ))}
+                      {bookingsCursor && (
+                        <div className="col-12 text-center">
+                          <button
+                            className="btn btn-outline-primary btn-sm"
+                            onClick={() => fetchBookings(activeTab, bookingsCursor)}
+                            disabled={loadingMoreBookings}
+                          >
+                            {loadingMoreBookings ? (
+                              <>
+                                <span className="spinner-border spinner-border-sm me-2" role="status"></span>
+                                Loading...
+                              </>
+                            ) : (
+                              <>
+                                <i className="fas fa-chevron-down me-2"></i>
+                                Load more
+                              </>
+                            )}
+                          </button>
+                        </div>
+                      )}
                     </div>
                   )}
                 </div>